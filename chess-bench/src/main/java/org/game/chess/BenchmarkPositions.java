@@ -0,0 +1,75 @@
+package org.game.chess;
+
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * The positions the benchmarks run on, one per phase of the game. White is to
+ * move in each of them and has a piece of every type, so every piece's move
+ * generation can be measured on every phase.
+ */
+final class BenchmarkPositions {
+    // the phases a benchmark can be parameterized with
+    static final String OPENING    = "opening";
+    static final String MIDDLEGAME = "middlegame";
+    static final String ENDGAME    = "endgame";
+    // ----------------------------------------------------------
+    /**
+     * Not meant to be instantiated.
+     */
+    private BenchmarkPositions(){
+        // static helpers only
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the FEN of the position used for a phase.
+     *
+     * @param phase
+     *            one of OPENING, MIDDLEGAME or ENDGAME
+     * @return String the position in Forsyth-Edwards Notation
+     */
+    static String getFen( String phase ){
+        switch ( phase ){
+            case OPENING:
+                return "r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w "
+                    + "KQkq - 2 3";
+            case MIDDLEGAME:
+                return "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R "
+                    + "w KQkq - 0 1";
+            case ENDGAME:
+                return "6k1/5pp1/3q3p/p2Pn3/1r6/1P2N1PP/Q4PB1/1R4K1 w - - 0 40";
+            default:
+                throw new IllegalArgumentException( "Unknown phase: " + phase );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sets up the position used for a phase.
+     *
+     * @param phase
+     *            one of OPENING, MIDDLEGAME or ENDGAME
+     * @return ChessPosition the new position
+     */
+    static ChessPosition load( String phase ){
+        return Fen.load( getFen( phase ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Finds a white piece of the requested type.
+     *
+     * @param position
+     *            the position to look in
+     * @param type
+     *            the type of the piece
+     * @return ChessGamePiece the first such piece on the board
+     */
+    static ChessGamePiece findPiece( ChessPosition position, PieceTypeEnum type ){
+        long pieces = position.getPieces( PieceColorEnum.WHITE, type );
+        if ( pieces == 0 ){
+            throw new IllegalStateException( "No white " + type + " to "
+                + "benchmark." );
+        }
+        int sq = Long.numberOfTrailingZeros( pieces );
+        return position.getPieceAt( sq >> 3, sq & 7 );
+    }
+}
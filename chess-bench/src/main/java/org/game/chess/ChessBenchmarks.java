@@ -0,0 +1,31 @@
+package org.game.chess;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+// -------------------------------------------------------------------------
+/**
+ * Runs the benchmarks with the GC profiler, so every result reports its
+ * allocation rate next to its throughput. Any JMH command line option may be
+ * given, e.g. a benchmark name pattern or "-p phase=endgame".
+ */
+public class ChessBenchmarks {
+    // ----------------------------------------------------------
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args
+     *            JMH command line options
+     * @throws Exception
+     *             if the options are invalid or a benchmark fails
+     */
+    public static void main( String[] args ) throws Exception {
+        Options options = new OptionsBuilder()
+            .parent( new CommandLineOptions( args ) )
+            .addProfiler( GCProfiler.class )
+            .build();
+        new Runner( options ).run();
+    }
+}
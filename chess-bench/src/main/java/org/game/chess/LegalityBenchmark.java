@@ -0,0 +1,139 @@
+package org.game.chess;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+// -------------------------------------------------------------------------
+/**
+ * Measures the legality checks and game state queries the engine and the
+ * board run on every turn: ChessGamePiece.canMove, King.isChecked,
+ * ChessGameEngine.determineGameLost and ChessGameBoard.getAllWhitePieces.
+ * The board is a Swing panel, so the benchmark JVM runs headless.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( value = 1, jvmArgsAppend = "-Djava.awt.headless=true" )
+public class LegalityBenchmark {
+    /**
+     * The phase of the game to benchmark.
+     */
+    @Param( { BenchmarkPositions.OPENING, BenchmarkPositions.MIDDLEGAME,
+        BenchmarkPositions.ENDGAME } )
+    public String phase;
+
+    private ChessPosition   position;
+    private ChessGamePiece  knight;
+    private int             knightRow;
+    private int             knightColumn;
+    private King            king;
+    private ChessGameEngine engine;
+    private ChessGameBoard  board;
+    // ----------------------------------------------------------
+    /**
+     * Sets up the position, an engine playing on it and a board showing it,
+     * and picks a legal knight move to test.
+     */
+    @Setup
+    public void setUp(){
+        position = BenchmarkPositions.load( phase );
+        knight = BenchmarkPositions.findPiece( position, PieceTypeEnum.KNIGHT );
+        MoveList knightMoves = knight.getLegalMoves( position );
+        knightRow = Move.getToRow( knightMoves.get( 0 ) );
+        knightColumn = Move.getToColumn( knightMoves.get( 0 ) );
+        king = position.getKing( PieceColorEnum.WHITE );
+        engine = new ChessGameEngine( position, new SilentListener() );
+        board = new ChessGameBoard();
+        board.showPosition( Fen.load( BenchmarkPositions.getFen( phase ) ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * @return boolean whether the knight can make its move
+     */
+    @Benchmark
+    public boolean canMove(){
+        return knight.canMove( position, knightRow, knightColumn );
+    }
+    // ----------------------------------------------------------
+    /**
+     * @return boolean whether the white king is in check
+     */
+    @Benchmark
+    public boolean isChecked(){
+        return king.isChecked( position );
+    }
+    // ----------------------------------------------------------
+    /**
+     * The engine keeps the status of the position it last worked out, so
+     * after the first call this measures the cached answer.
+     *
+     * @return int the state of the game
+     */
+    @Benchmark
+    public int determineGameLost(){
+        return engine.determineGameLost();
+    }
+    // ----------------------------------------------------------
+    /**
+     * @return List<ChessGamePiece> the white pieces on the board
+     */
+    @Benchmark
+    public List<ChessGamePiece> getAllWhitePieces(){
+        return board.getAllWhitePieces();
+    }
+    // -------------------------------------------------------------------------
+    /**
+     * Ignores everything the engine reports.
+     */
+    private static class SilentListener
+        implements ChessGameListener
+    {
+        @Override
+        public void gameStarted(){
+            // nothing to show
+        }
+        @Override
+        public void logMessage( String message ){
+            // nothing to show
+        }
+        @Override
+        public void logMove( int move, int ply, String description ){
+            // nothing to show
+        }
+        @Override
+        public void pieceMoved(
+            ChessGamePiece piece,
+            int fromRow,
+            int fromCol,
+            int toRow,
+            int toCol ){
+            // nothing to show
+        }
+        @Override
+        public void pieceCaptured( ChessGamePiece piece, int capturingPlayer ){
+            // nothing to show
+        }
+        @Override
+        public void kingInCheck( int player ){
+            // nothing to show
+        }
+        @Override
+        public void gameOver( String endGameStr ){
+            // nothing to show
+        }
+    }
+}
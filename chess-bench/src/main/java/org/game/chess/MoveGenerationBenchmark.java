@@ -0,0 +1,129 @@
+package org.game.chess;
+
+import java.util.concurrent.TimeUnit;
+import org.game.chess.enums.PieceTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+// -------------------------------------------------------------------------
+/**
+ * Measures the pseudo-legal move generation of each piece type
+ * (calculatePossibleMoves) and the legal move generation of a whole side.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class MoveGenerationBenchmark {
+    /**
+     * The phase of the game to benchmark.
+     */
+    @Param( { BenchmarkPositions.OPENING, BenchmarkPositions.MIDDLEGAME,
+        BenchmarkPositions.ENDGAME } )
+    public String phase;
+
+    private ChessPosition  position;
+    private ChessGamePiece pawn;
+    private ChessGamePiece knight;
+    private ChessGamePiece bishop;
+    private ChessGamePiece rook;
+    private ChessGamePiece queen;
+    private ChessGamePiece king;
+    private MoveList       moves;
+    // ----------------------------------------------------------
+    /**
+     * Sets up the position and picks one white piece of every type.
+     */
+    @Setup
+    public void setUp(){
+        position = BenchmarkPositions.load( phase );
+        pawn = BenchmarkPositions.findPiece( position, PieceTypeEnum.PAWN );
+        knight = BenchmarkPositions.findPiece( position, PieceTypeEnum.KNIGHT );
+        bishop = BenchmarkPositions.findPiece( position, PieceTypeEnum.BISHOP );
+        rook = BenchmarkPositions.findPiece( position, PieceTypeEnum.ROOK );
+        queen = BenchmarkPositions.findPiece( position, PieceTypeEnum.QUEEN );
+        king = BenchmarkPositions.findPiece( position, PieceTypeEnum.KING );
+        moves = new MoveList( 256 );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Generates the moves of one piece into the reused list.
+     *
+     * @param piece
+     *            the piece to generate moves for
+     * @return int the number of moves, so the work is not optimized away
+     */
+    private int generate( ChessGamePiece piece ){
+        moves.clear();
+        piece.calculatePossibleMoves( position, moves );
+        return moves.size();
+    }
+    // ----------------------------------------------------------
+    /**
+     * @return int the number of pawn moves
+     */
+    @Benchmark
+    public int pawnMoves(){
+        return generate( pawn );
+    }
+    // ----------------------------------------------------------
+    /**
+     * @return int the number of knight moves
+     */
+    @Benchmark
+    public int knightMoves(){
+        return generate( knight );
+    }
+    // ----------------------------------------------------------
+    /**
+     * @return int the number of bishop moves
+     */
+    @Benchmark
+    public int bishopMoves(){
+        return generate( bishop );
+    }
+    // ----------------------------------------------------------
+    /**
+     * @return int the number of rook moves
+     */
+    @Benchmark
+    public int rookMoves(){
+        return generate( rook );
+    }
+    // ----------------------------------------------------------
+    /**
+     * @return int the number of queen moves
+     */
+    @Benchmark
+    public int queenMoves(){
+        return generate( queen );
+    }
+    // ----------------------------------------------------------
+    /**
+     * @return int the number of king moves
+     */
+    @Benchmark
+    public int kingMoves(){
+        return generate( king );
+    }
+    // ----------------------------------------------------------
+    /**
+     * @return int the number of legal moves of the side to move
+     */
+    @Benchmark
+    public int legalMoves(){
+        moves.clear();
+        position.generateLegalMoves( moves );
+        return moves.size();
+    }
+}
@@ -0,0 +1,99 @@
+package org.game.chess;
+
+import java.util.Arrays;
+import org.game.chess.search.ParallelSearcher;
+import org.game.chess.search.SearchLimits;
+import org.game.chess.search.SearchResult;
+import org.game.chess.search.TranspositionTable;
+// -------------------------------------------------------------------------
+/**
+ * Measures how the parallel search scales: the time it takes 1, 2, 4, 8 and
+ * 16 threads to reach the same depth on every benchmark position, and the
+ * speedup over one thread. Every run starts from an empty table, and the
+ * median of the runs is reported, since a parallel search takes a different
+ * path every time.
+ *
+ * <pre>
+ * java -cp benchmarks.jar org.game.chess.SearchSpeedup [depth [runs [mb]]]
+ * </pre>
+ *
+ * The defaults are depth 6, 3 runs and a 64 MB table. Speedups are only
+ * meaningful up to the number of cores of the machine.
+ */
+public class SearchSpeedup {
+    private static final int[]    THREAD_COUNTS = { 1, 2, 4, 8, 16 };
+    private static final String[] PHASES        = { BenchmarkPositions.OPENING,
+        BenchmarkPositions.MIDDLEGAME, BenchmarkPositions.ENDGAME };
+    // ----------------------------------------------------------
+    /**
+     * Not meant to be instantiated.
+     */
+    private SearchSpeedup(){
+        // static helpers only
+    }
+    // ----------------------------------------------------------
+    /**
+     * Runs the measurements. See the class comment for the arguments.
+     *
+     * @param args
+     *            the depth, the number of runs and the table size in MB, all
+     *            optional
+     */
+    public static void main( String[] args ){
+        int depth = args.length > 0 ? Integer.parseInt( args[0] ) : 6;
+        int runs = args.length > 1 ? Integer.parseInt( args[1] ) : 3;
+        int megabytes = args.length > 2 ? Integer.parseInt( args[2] ) : 64;
+        System.out.println( "Time to depth " + depth + ", median of " + runs
+            + " runs, " + Runtime.getRuntime().availableProcessors()
+            + " cores" );
+        TranspositionTable table = new TranspositionTable( megabytes );
+        long[] totalMillis = new long[THREAD_COUNTS.length];
+        for ( String phase : PHASES ){
+            System.out.println();
+            System.out.println( phase );
+            System.out.println( "threads   time ms   speedup        nodes"
+                + "        nps" );
+            long baseMillis = 0;
+            for ( int i = 0; i < THREAD_COUNTS.length; i++ ){
+                int threads = THREAD_COUNTS[i];
+                SearchResult[] results = new SearchResult[runs];
+                for ( int run = 0; run < runs; run++ ){
+                    table.clear();
+                    ChessPosition position = BenchmarkPositions.load( phase );
+                    results[run] = new ParallelSearcher( position, table,
+                        threads ).search( SearchLimits.depth( depth ) );
+                }
+                SearchResult median = median( results );
+                long millis = Math.max( 1, median.getElapsedMillis() );
+                if ( i == 0 ){
+                    baseMillis = millis;
+                }
+                totalMillis[i] += millis;
+                System.out.println( String.format( "%7d %9d %9.2f %12d %10d",
+                    threads, millis, (double)baseMillis / millis,
+                    median.getNodes(), median.getNodesPerSecond() ) );
+            }
+        }
+        System.out.println();
+        System.out.println( "all positions" );
+        for ( int i = 0; i < THREAD_COUNTS.length; i++ ){
+            System.out.println( String.format( "%7d %9d %9.2f",
+                THREAD_COUNTS[i], totalMillis[i],
+                (double)totalMillis[0] / totalMillis[i] ) );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Picks the run that took the median time.
+     *
+     * @param results
+     *            the results of the runs
+     * @return SearchResult the median run
+     */
+    private static SearchResult median( SearchResult[] results ){
+        SearchResult[] sorted = results.clone();
+        Arrays.sort( sorted, ( first, second ) -> Long.compare(
+            first.getElapsedMillis(), second.getElapsedMillis() ) );
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,26 @@
+package org.game.chess;
+
+import org.game.chess.enums.PieceColorEnum;
+
+public abstract class AllDirections extends ChessGamePiece{
+
+    protected AllDirections(ChessPosition board, int row, int col, PieceColorEnum pieceColor) {
+        super(board, row, col, pieceColor);
+    }
+
+    protected AllDirections(ChessPosition board, int row, int col, PieceColorEnum pieceColor,
+                         boolean skipMoveGeneration) {
+        super(board, row, col, pieceColor, skipMoveGeneration);
+    }
+
+    protected void calculatePossibleMoves(ChessPosition board, int numMoves, MoveList moves){
+        calculateNorthEastMoves( board, numMoves, moves );
+        calculateNorthWestMoves( board, numMoves, moves );
+        calculateSouthWestMoves( board, numMoves, moves );
+        calculateSouthEastMoves( board, numMoves, moves );
+        calculateNorthMoves( board, numMoves, moves );
+        calculateSouthMoves( board, numMoves, moves );
+        calculateWestMoves( board, numMoves, moves );
+        calculateEastMoves( board, numMoves, moves );
+    }
+}
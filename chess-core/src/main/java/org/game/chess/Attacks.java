@@ -0,0 +1,406 @@
+package org.game.chess;
+
+import org.game.chess.enums.PieceColorEnum;
+// -------------------------------------------------------------------------
+/**
+ * Precomputed attack tables, so the full set of squares a piece attacks is a
+ * lookup rather than a walk over the board. Squares and masks are laid out
+ * as in game.ChessPosition: bit row * 8 + col.
+ * <p>
+ * Knights, kings and pawns attack the same squares from a square whatever
+ * else is on the board, so each has a table of 64 masks.
+ * <p>
+ * For move legality there are also, for every two squares on one rank, file
+ * or diagonal, the squares between them and the whole line through them.
+ * <p>
+ * Rooks and bishops use "magic bitboards". Only the pieces on the rays of
+ * the slider matter, and not those on the edge of the board, so the
+ * occupancy is masked down to those squares, multiplied by a per-square magic
+ * number and shifted, which leaves a dense index into a table of attack sets.
+ * The magic numbers are searched for at class load from a fixed seed, so the
+ * tables are the same in every run; this takes a few milliseconds.
+ */
+public final class Attacks {
+    private static final int[][] ROOK_DIRECTIONS   =
+        { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
+    private static final int[][] BISHOP_DIRECTIONS =
+        { { -1, -1 }, { -1, 1 }, { 1, -1 }, { 1, 1 } };
+    private static final int[][] KNIGHT_OFFSETS    = { { -2, -1 }, { -2, 1 },
+        { -1, -2 }, { -1, 2 }, { 1, -2 }, { 1, 2 }, { 2, -1 }, { 2, 1 } };
+
+    private static final long[]   KNIGHT = new long[64];
+    private static final long[]   KING   = new long[64];
+    private static final long[][] PAWN   = new long[2][64];
+
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE    = new long[64][64];
+
+    private static final long[] ROOK_MASKS     = new long[64];
+    private static final long[] ROOK_MAGICS    = new long[64];
+    private static final int[]  ROOK_SHIFTS    = new int[64];
+    private static final int[]  ROOK_OFFSETS   = new int[64];
+    private static final long[] ROOK_TABLE;
+    private static final long[] BISHOP_MASKS   = new long[64];
+    private static final long[] BISHOP_MAGICS  = new long[64];
+    private static final int[]  BISHOP_SHIFTS  = new int[64];
+    private static final int[]  BISHOP_OFFSETS = new int[64];
+    private static final long[] BISHOP_TABLE;
+    static {
+        for ( int sq = 0; sq < 64; sq++ ){
+            int row = sq >> 3;
+            int col = sq & 7;
+            for ( int[] offset : KNIGHT_OFFSETS ){
+                KNIGHT[sq] |= maskOf( row + offset[0], col + offset[1] );
+            }
+            for ( int[] direction : ROOK_DIRECTIONS ){
+                KING[sq] |= maskOf( row + direction[0], col + direction[1] );
+            }
+            for ( int[] direction : BISHOP_DIRECTIONS ){
+                KING[sq] |= maskOf( row + direction[0], col + direction[1] );
+            }
+            // pawns attack diagonally forward: up the board for white
+            PAWN[PieceColorEnum.WHITE.ordinal()][sq] =
+                maskOf( row - 1, col - 1 ) | maskOf( row - 1, col + 1 );
+            PAWN[PieceColorEnum.BLACK.ordinal()][sq] =
+                maskOf( row + 1, col - 1 ) | maskOf( row + 1, col + 1 );
+        }
+        fillLines( ROOK_DIRECTIONS );
+        fillLines( BISHOP_DIRECTIONS );
+        long[] state = { 0x9E3779B97F4A7C15L };
+        ROOK_TABLE = createTable( ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS,
+            ROOK_SHIFTS, ROOK_OFFSETS, state );
+        BISHOP_TABLE = createTable( BISHOP_DIRECTIONS, BISHOP_MASKS,
+            BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS, state );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Not meant to be instantiated.
+     */
+    private Attacks(){
+        // static helpers only
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the squares a knight attacks.
+     *
+     * @param sq
+     *            the square of the knight
+     * @return long the mask of attacked squares
+     */
+    public static long knight( int sq ){
+        return KNIGHT[sq];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the squares a king attacks, not counting castling.
+     *
+     * @param sq
+     *            the square of the king
+     * @return long the mask of attacked squares
+     */
+    public static long king( int sq ){
+        return KING[sq];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the squares a pawn attacks, the two diagonally in front of it.
+     *
+     * @param color
+     *            the color index of the pawn (PieceColorEnum ordinal)
+     * @param sq
+     *            the square of the pawn
+     * @return long the mask of attacked squares
+     */
+    public static long pawn( int color, int sq ){
+        return PAWN[color][sq];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the squares strictly between two squares on one rank, file or
+     * diagonal.
+     *
+     * @param from
+     *            one square
+     * @param to
+     *            the other square
+     * @return long the mask of squares between them, 0 if they are not on one
+     *         line or are next to each other
+     */
+    public static long between( int from, int to ){
+        return BETWEEN[from][to];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the whole rank, file or diagonal two squares are on, from edge to
+     * edge.
+     *
+     * @param from
+     *            one square
+     * @param to
+     *            the other square
+     * @return long the mask of the line, 0 if they are not on one line
+     */
+    public static long line( int from, int to ){
+        return LINE[from][to];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the squares a rook attacks: along its rank and file up to and
+     * including the first piece in each direction.
+     *
+     * @param sq
+     *            the square of the rook
+     * @param occupancy
+     *            the mask of all pieces on the board
+     * @return long the mask of attacked squares
+     */
+    public static long rook( int sq, long occupancy ){
+        return ROOK_TABLE[ROOK_OFFSETS[sq] + (int)( ( ( occupancy
+            & ROOK_MASKS[sq] ) * ROOK_MAGICS[sq] ) >>> ROOK_SHIFTS[sq] )];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the squares a bishop attacks: along its diagonals up to and
+     * including the first piece in each direction.
+     *
+     * @param sq
+     *            the square of the bishop
+     * @param occupancy
+     *            the mask of all pieces on the board
+     * @return long the mask of attacked squares
+     */
+    public static long bishop( int sq, long occupancy ){
+        return BISHOP_TABLE[BISHOP_OFFSETS[sq] + (int)( ( ( occupancy
+            & BISHOP_MASKS[sq] ) * BISHOP_MAGICS[sq] )
+            >>> BISHOP_SHIFTS[sq] )];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the squares a queen attacks, those of a rook and a bishop on its
+     * square.
+     *
+     * @param sq
+     *            the square of the queen
+     * @param occupancy
+     *            the mask of all pieces on the board
+     * @return long the mask of attacked squares
+     */
+    public static long queen( int sq, long occupancy ){
+        return rook( sq, occupancy ) | bishop( sq, occupancy );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Fills the between and line tables for every two squares on a line in
+     * one of the requested directions.
+     *
+     * @param directions
+     *            the directions of the lines
+     */
+    private static void fillLines( int[][] directions ){
+        for ( int from = 0; from < 64; from++ ){
+            for ( int[] direction : directions ){
+                // the line runs both ways from the square
+                long line = 1L << from
+                    | walkAttacks( from, 0L, new int[][] { direction } )
+                    | walkAttacks( from, 0L, new int[][] {
+                        { -direction[0], -direction[1] } } );
+                long between = 0;
+                int r = ( from >> 3 ) + direction[0];
+                int c = ( from & 7 ) + direction[1];
+                while ( ChessPosition.isOnBoard( r, c ) ){
+                    int to = ChessPosition.square( r, c );
+                    BETWEEN[from][to] = between;
+                    BETWEEN[to][from] = between;
+                    LINE[from][to] = line;
+                    LINE[to][from] = line;
+                    between |= 1L << to;
+                    r += direction[0];
+                    c += direction[1];
+                }
+            }
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Finds the magic numbers of one kind of slider and fills its table.
+     *
+     * @param directions
+     *            the directions the slider moves in
+     * @param masks
+     *            filled with the relevant occupancy of every square
+     * @param magics
+     *            filled with the magic number of every square
+     * @param shifts
+     *            filled with the shift of every square
+     * @param offsets
+     *            filled with the start of every square's part of the table
+     * @param state
+     *            the state of the random sequence, advanced in place
+     * @return long[] the attack table of all squares
+     */
+    private static long[] createTable( int[][] directions, long[] masks,
+        long[] magics, int[] shifts, int[] offsets, long[] state ){
+        int size = 0;
+        for ( int sq = 0; sq < 64; sq++ ){
+            masks[sq] = relevantOccupancy( sq, directions );
+            int bits = Long.bitCount( masks[sq] );
+            shifts[sq] = 64 - bits;
+            offsets[sq] = size;
+            size += 1 << bits;
+        }
+        long[] table = new long[size];
+        for ( int sq = 0; sq < 64; sq++ ){
+            magics[sq] = findMagic( sq, directions, masks[sq], shifts[sq],
+                table, offsets[sq], state );
+        }
+        return table;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the squares whose occupancy decides what a slider attacks: its
+     * rays, short of the edge of the board, since a piece on the edge stops
+     * nothing beyond it.
+     *
+     * @param sq
+     *            the square of the slider
+     * @param directions
+     *            the directions the slider moves in
+     * @return long the mask of relevant squares
+     */
+    private static long relevantOccupancy( int sq, int[][] directions ){
+        long mask = 0;
+        for ( int[] direction : directions ){
+            int r = ( sq >> 3 ) + direction[0];
+            int c = ( sq & 7 ) + direction[1];
+            while ( ChessPosition.isOnBoard( r + direction[0],
+                c + direction[1] ) ){
+                mask |= 1L << ChessPosition.square( r, c );
+                r += direction[0];
+                c += direction[1];
+            }
+        }
+        return mask;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Searches for a magic number that maps every occupancy of a square's
+     * relevant squares to an index whose attack set is right, and writes the
+     * attack sets to the table.
+     *
+     * @param sq
+     *            the square of the slider
+     * @param directions
+     *            the directions the slider moves in
+     * @param mask
+     *            the relevant occupancy of the square
+     * @param shift
+     *            the shift of the square
+     * @param table
+     *            the table to write to
+     * @param offset
+     *            the start of the square's part of the table
+     * @param state
+     *            the state of the random sequence, advanced in place
+     * @return long the magic number
+     */
+    private static long findMagic( int sq, int[][] directions, long mask,
+        int shift, long[] table, int offset, long[] state ){
+        int count = 1 << Long.bitCount( mask );
+        long[] occupancies = new long[count];
+        long[] attacks = new long[count];
+        // every subset of the mask, by the carry-rippler trick
+        long subset = 0;
+        for ( int i = 0; i < count; i++ ){
+            occupancies[i] = subset;
+            attacks[i] = walkAttacks( sq, subset, directions );
+            subset = ( subset - mask ) & mask;
+        }
+        long[] found = new long[count];
+        int[] tried = new int[count];
+        for ( int attempt = 1;; attempt++ ){
+            // numbers with few bits set make good magics
+            long magic = nextRandom( state ) & nextRandom( state )
+                & nextRandom( state );
+            if ( Long.bitCount( ( mask * magic ) >>> 56 ) < 6 ){
+                continue;
+            }
+            boolean works = true;
+            for ( int i = 0; i < count && works; i++ ){
+                int index = (int)( ( occupancies[i] * magic ) >>> shift );
+                if ( tried[index] != attempt ){
+                    tried[index] = attempt;
+                    found[index] = attacks[i];
+                }
+                else
+                {
+                    works = found[index] == attacks[i];
+                }
+            }
+            if ( works ){
+                System.arraycopy( found, 0, table, offset, count );
+                return magic;
+            }
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Walks a slider's rays one square at a time, the slow way the tables
+     * are built from.
+     *
+     * @param sq
+     *            the square of the slider
+     * @param occupancy
+     *            the mask of all pieces on the board
+     * @param directions
+     *            the directions the slider moves in
+     * @return long the mask of attacked squares
+     */
+    private static long walkAttacks( int sq, long occupancy,
+        int[][] directions ){
+        long attacks = 0;
+        for ( int[] direction : directions ){
+            int r = ( sq >> 3 ) + direction[0];
+            int c = ( sq & 7 ) + direction[1];
+            while ( ChessPosition.isOnBoard( r, c ) ){
+                long bit = 1L << ChessPosition.square( r, c );
+                attacks |= bit;
+                if ( ( occupancy & bit ) != 0 ){
+                    break;
+                }
+                r += direction[0];
+                c += direction[1];
+            }
+        }
+        return attacks;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the mask of a single square.
+     *
+     * @param row
+     *            the row of the square, which may be off the board
+     * @param col
+     *            the column of the square, which may be off the board
+     * @return long the mask, or 0 if the square is off the board
+     */
+    private static long maskOf( int row, int col ){
+        return ChessPosition.isOnBoard( row, col )
+            ? 1L << ChessPosition.square( row, col )
+            : 0L;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Draws the next number from a SplitMix64 sequence, written out as in
+     * game.Zobrist so the tables can never change between Java versions.
+     *
+     * @param state
+     *            the one-element state of the sequence, advanced in place
+     * @return long the next number
+     */
+    private static long nextRandom( long[] state ){
+        long z = ( state[0] += 0x9E3779B97F4A7C15L );
+        z = ( z ^ ( z >>> 30 ) ) * 0xBF58476D1CE4E5B9L;
+        z = ( z ^ ( z >>> 27 ) ) * 0x94D049BB133111EBL;
+        return z ^ ( z >>> 31 );
+    }
+}
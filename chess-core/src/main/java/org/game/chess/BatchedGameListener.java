@@ -0,0 +1,210 @@
+package org.game.chess;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+// -------------------------------------------------------------------------
+/**
+ * A game.ChessGameListener that groups the events of a game into batches and
+ * hands each batch to another listener in one task on an executor, such as
+ * the Swing event queue. game.ChessGameEngine opens a batch for each move
+ * played, so a view sees the capture, the move, the checks and the end of
+ * turn of a move together and never redraws for half of it.
+ * <p>
+ * A new game started within a batch drops the events before it, as they
+ * are about a game no view will show. Events outside a batch go out as a
+ * batch of their own.
+ * <p>
+ * Only the target listener is serialized. The executor and any events not
+ * yet delivered are not, so a deserialized listener delivers each batch at
+ * once, on the thread that closes it.
+ */
+public class BatchedGameListener implements ChessGameListener, Serializable {
+    private final ChessGameListener    target;
+    private transient Executor         executor;
+    private transient List<Runnable>   pending;
+    private transient int              depth;
+    private long                       batchesDelivered;
+    // ----------------------------------------------------------
+    /**
+     * Create a new BatchedGameListener.
+     *
+     * @param target
+     *            the listener to deliver the events to
+     * @param executor
+     *            runs the task that delivers each batch, i.e.
+     *            EventQueue::invokeLater to deliver on the Event Dispatch
+     *            Thread, or Runnable::run to deliver at once
+     */
+    public BatchedGameListener( ChessGameListener target, Executor executor ){
+        this.target = target;
+        this.executor = executor;
+        pending = new ArrayList<>();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Restores a listener that delivers at once, with no open batch.
+     *
+     * @param in
+     *            the stream to read from
+     * @throws IOException
+     *             if reading fails
+     * @throws ClassNotFoundException
+     *             if the class of the target is unknown
+     */
+    private void readObject( ObjectInputStream in )
+        throws IOException, ClassNotFoundException{
+        in.defaultReadObject();
+        executor = Runnable::run;
+        pending = new ArrayList<>();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Opens a batch. Batches may be nested; the events go out when the
+     * outermost one is closed.
+     */
+    public void begin(){
+        depth++;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Closes a batch, and delivers its events if it is the outermost one.
+     */
+    public void end(){
+        if ( depth == 0 ){
+            throw new IllegalStateException( "There is no batch to end." );
+        }
+        depth--;
+        if ( depth == 0 && !pending.isEmpty() ){
+            List<Runnable> batch = pending;
+            pending = new ArrayList<>();
+            batchesDelivered++;
+            executor.execute( () -> {
+                for ( Runnable event : batch ){
+                    event.run();
+                }
+            } );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of batches handed to the executor so far.
+     *
+     * @return long the number of batches
+     */
+    public long getBatchesDelivered(){
+        return batchesDelivered;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds an event to the open batch, or delivers it alone if no batch is
+     * open.
+     *
+     * @param event
+     *            calls the target listener
+     */
+    private void add( Runnable event ){
+        begin();
+        pending.add( event );
+        end();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Drops the events of the batch so far, since they are about the game
+     * before, and adds the start of the new game.
+     */
+    @Override
+    public void gameStarted(){
+        pending.clear();
+        add( target::gameStarted );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds a line of text for the game log to the batch.
+     *
+     * @param message
+     *            the line of text to add
+     */
+    @Override
+    public void logMessage( String message ){
+        add( () -> target.logMessage( message ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds the line for a move for the game log to the batch.
+     *
+     * @param move
+     *            the packed move (see game.Move)
+     * @param ply
+     *            the number of moves played in the game, this one included
+     * @param description
+     *            the line of text to add
+     */
+    @Override
+    public void logMove( int move, int ply, String description ){
+        add( () -> target.logMove( move, ply, description ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds a piece that moved to the batch.
+     *
+     * @param piece
+     *            the piece that moved
+     * @param fromRow
+     *            the row it moved from
+     * @param fromCol
+     *            the column it moved from
+     * @param toRow
+     *            the row it moved to
+     * @param toCol
+     *            the column it moved to
+     */
+    @Override
+    public void pieceMoved(
+        ChessGamePiece piece,
+        int fromRow,
+        int fromCol,
+        int toRow,
+        int toCol ){
+        add( () -> target.pieceMoved( piece, fromRow, fromCol, toRow,
+            toCol ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds a captured piece to the batch.
+     *
+     * @param piece
+     *            the captured piece
+     * @param capturingPlayer
+     *            the player who captured it (1 or 2)
+     */
+    @Override
+    public void pieceCaptured( ChessGamePiece piece, int capturingPlayer ){
+        add( () -> target.pieceCaptured( piece, capturingPlayer ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds a king in check to the batch.
+     *
+     * @param player
+     *            the player whose king is in check (1 or 2)
+     */
+    @Override
+    public void kingInCheck( int player ){
+        add( () -> target.kingInCheck( player ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds the end of the game to the batch.
+     *
+     * @param endGameStr
+     *            the string describing how the game ended
+     */
+    @Override
+    public void gameOver( String endGameStr ){
+        add( () -> target.gameOver( endGameStr ) );
+    }
+}
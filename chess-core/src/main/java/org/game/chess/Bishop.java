@@ -0,0 +1,74 @@
+package org.game.chess;
+
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * Class to represent the game.Bishop piece.
+ * 
+ * @author Ben Katz (bakatz)
+ * @author Myles David II (davidmm2)
+ * @author Danielle Bushrow (dbushrow)
+ * @version 2010.11.17
+ */
+public class Bishop extends ChessGamePiece{
+	/**
+	 * Creates a new game.Bishop object.
+	 * 
+	 * @param board
+	 *			board the board to create the bishop on
+	 * @param row
+	 *			row location of the game.Bishop
+	 * @param col
+	 *			col location of the game.Bishop
+	 * @param color
+	 *			either GamePiece.WHITE, BLACK, or UNASSIGNED
+	 */
+	public Bishop(ChessPosition board, int row, int col, PieceColorEnum color ){
+		super( board, row, col, color );
+	}
+	/**
+	 * Calculates the possible moves for this piece. These are ALL the possible
+	 * moves, including illegal (but at the same time valid) moves. The squares
+	 * the bishop attacks are looked up in game.Attacks.
+	 * 
+	 * @param board
+	 *			the game board to calculate moves on
+	 * @param moves
+	 *			the list to add the moves to
+	 */
+	@Override
+	protected void calculatePossibleMoves(ChessPosition board, MoveList moves ){
+		if ( isPieceOnScreen() ){
+			addMoves( board, moves,
+				Attacks.bishop( ChessPosition.square( pieceRow, pieceColumn ),
+					board.getOccupancy() )
+					& ~board.getOccupancy( getColorOfPiece() ) );
+		}
+	}
+	/**
+	 * Calculates the possible moves for this piece by walking each diagonal,
+	 * to cross-check calculatePossibleMoves.
+	 * 
+	 * @param board
+	 *			the game board to calculate moves on
+	 * @param moves
+	 *			the list to add the moves to
+	 */
+	@Override
+	void calculateWalkedMoves( ChessPosition board, MoveList moves ){
+		calculateNorthEastMoves( board, 8, moves );
+		calculateNorthWestMoves( board, 8, moves );
+		calculateSouthEastMoves( board, 8, moves );
+		calculateSouthWestMoves( board, 8, moves );
+	}
+	/**
+	 * Gets the type of this piece.
+	 *
+	 * @return PieceTypeEnum always BISHOP
+	 */
+	@Override
+	public PieceTypeEnum getPieceType(){
+		return PieceTypeEnum.BISHOP;
+	}
+}
\ No newline at end of file
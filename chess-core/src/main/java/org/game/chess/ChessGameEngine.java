@@ -0,0 +1,539 @@
+package org.game.chess;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executor;
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.search.SearchLimits;
+import org.game.chess.search.SearchResult;
+import org.game.chess.search.ParallelSearcher;
+import org.game.chess.search.TranspositionTable;
+// -------------------------------------------------------------------------
+/**
+ * This is the backend behind the Chess game. Handles the turn-based aspects of
+ * the game, the moves requested by the players, and determines win/lose
+ * conditions. Everything the players should see is reported to a
+ * game.ChessGameListener, so the engine runs the same with or without a
+ * window.
+ * <p>
+ * Whether each king is in check and whether each player has a legal move is
+ * worked out once per position and kept, keyed by the hash of the position,
+ * so the queries made at the end of a turn are answered from that status
+ * until a move is played.
+ *
+ * @author Ben Katz (bakatz)
+ * @author Myles David II (davidmm2)
+ * @author Danielle Bushrow (dbushrow)
+ * @version 2010.11.17
+ */
+public class ChessGameEngine implements Serializable {
+    /**
+     * The size of the transposition table of findBestMove unless it is set
+     * with setTableMegabytes, in MB.
+     */
+    public static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+    private static final int STATUS_KNOWN     = 1;
+    private static final int STATUS_CHECKED   = 2;
+    private static final int STATUS_HAS_MOVES = 4;
+    private static final int STATUS_BITS      = 3;
+
+    private static final DateTimeFormatter PGN_DATE =
+        DateTimeFormatter.ofPattern( "yyyy.MM.dd" );
+
+    private int                          currentPlayer;
+    private int                          ply;
+    private GameRecord                   record;
+    private ChessPosition                board;
+    private BatchedGameListener          listener;
+    private King                         king1;
+    private King                         king2;
+    private int                          searchThreads;
+    private int                          tableMegabytes;
+    private transient TranspositionTable transpositionTable;
+    private transient long               statusHash;
+    private transient int                status;
+    // ----------------------------------------------------------
+    /**
+     * Create a new game.ChessGameEngine object. Accepts a fully-created
+     * game.ChessPosition. (i.e. all pieces placed) The player whose turn it
+     * is is taken from the side to move of the position. The events of the
+     * game are delivered to the listener as they happen, on the thread that
+     * plays the moves.
+     *
+     * @param board
+     *            the reference game.ChessPosition
+     * @param listener
+     *            the listener that shows the game to the players
+     */
+    public ChessGameEngine( ChessPosition board, ChessGameListener listener ){
+        this( board, listener, Runnable::run );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Create a new game.ChessGameEngine object that delivers the events of
+     * the game with an executor, one batch for each move played or game
+     * started (see game.BatchedGameListener).
+     *
+     * @param board
+     *            the reference game.ChessPosition
+     * @param listener
+     *            the listener that shows the game to the players
+     * @param executor
+     *            runs the delivery of each batch, i.e. EventQueue::invokeLater
+     *            for a Swing view
+     */
+    public ChessGameEngine( ChessPosition board, ChessGameListener listener,
+        Executor executor ){
+        this.board = board;
+        this.listener = new BatchedGameListener( listener, executor );
+        this.searchThreads = 1;
+        this.tableMegabytes = DEFAULT_TABLE_MEGABYTES;
+        startGame();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Resets the game to its original state.
+     */
+    public void reset(){
+        board.initializeBoard();
+        startGame();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Starts a new game from a position given in FEN (see game.Fen), e.g. to
+     * analyse or play out a position without replaying the moves that lead
+     * to it. The player whose turn it is comes from the position.
+     *
+     * @param fen
+     *            the position in FEN
+     * @throws IllegalArgumentException
+     *             if the string is not a valid FEN position; the game is then
+     *             left as it was
+     */
+    public void loadPosition( String fen ){
+        // check the string before anything of the game is touched
+        Fen.load( fen );
+        Fen.load( board, fen );
+        startGame();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the current position in FEN (see game.Fen).
+     *
+     * @return String the position in FEN
+     */
+    public String getFen(){
+        return Fen.toString( board );
+    }
+    /**
+     * Starts a new game from the current position of the board.
+     */
+    private void startGame(){
+        listener.begin();
+        try {
+            announceGame();
+        }
+        finally
+        {
+            listener.end();
+        }
+    }
+    /**
+     * Resets the state of the game to start from the current position, and
+     * tells the listener.
+     */
+    private void announceGame(){
+        status = 0;
+        ply = 0;
+        setCurrentPlayer(
+            board.getSideToMove() == PieceColorEnum.BLACK ? 2 : 1 );
+        record = newGameRecord();
+        this.king1 = board.getKing( PieceColorEnum.WHITE );
+        this.king2 = board.getKing( PieceColorEnum.BLACK );
+        listener.gameStarted();
+        listener.logMessage(
+            "A new chess "
+                + "game has been started. Player 1 (white) will play "
+                + "against Player 2 (black). BEGIN!" );
+        if ( currentPlayer == 2 ){
+            listener.logMessage( "Player 2 (black) moves first." );
+        }
+    }
+    /**
+     * Starts the record of a game from the current position.
+     *
+     * @return game.GameRecord the record, dated today
+     */
+    private GameRecord newGameRecord(){
+        GameRecord newRecord = new GameRecord( board );
+        newRecord.setTag( "Date", LocalDate.now().format( PGN_DATE ) );
+        newRecord.setTag( "White", "Player 1" );
+        newRecord.setTag( "Black", "Player 2" );
+        return newRecord;
+    }
+    /**
+     * Switches the turn to be the next player's turn.
+     */
+    private void nextTurn(){
+        setCurrentPlayer( ( currentPlayer == 1 ) ? 2 : 1 );
+        listener.logMessage(
+                "It is now Player " + currentPlayer + "'s turn." );
+    }
+    /**
+     * Sets the current player, keeping the side to move of the position in
+     * step with it.
+     *
+     * @param player
+     *            the player whose turn it is (1 or 2)
+     */
+    private void setCurrentPlayer( int player ){
+        currentPlayer = player;
+        board.setSideToMove(
+            player == 1 ? PieceColorEnum.WHITE : PieceColorEnum.BLACK );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the position this game is played on.
+     *
+     * @return game.ChessPosition the position
+     */
+    public ChessPosition getPosition(){
+        return board;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the current player. Used for determining the turn.
+     *
+     * @return int the current player (1 or 2)
+     */
+    public int getCurrentPlayer(){
+        return currentPlayer;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of moves played in this game.
+     *
+     * @return int the ply, 0 at the start of the game
+     */
+    public int getPly(){
+        return ply;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the record of this game: the moves played so far and, once the
+     * game is over, its result. It can be written out with game.PgnWriter.
+     *
+     * @return game.GameRecord the record of the game
+     */
+    public GameRecord getGameRecord(){
+        return record;
+    }
+    /**
+     * Determines if the requested player has legal moves.
+     *
+     * @param playerNum
+     *            the player to check
+     * @return boolean true if the player does have legal moves, false otherwise
+     */
+    public boolean playerHasLegalMoves( int playerNum ){
+        if ( playerNum != 1 && playerNum != 2 ){
+            return false;
+        }
+        return ( getStatus( playerNum ) & STATUS_HAS_MOVES ) != 0;
+    }
+    /**
+     * Determines if the king of the requested player is in check.
+     *
+     * @param playerNum
+     *            the player to check (1 or 2)
+     * @return boolean true if the player's king is in check, false otherwise
+     */
+    private boolean playerIsInCheck( int playerNum ){
+        return ( getStatus( playerNum ) & STATUS_CHECKED ) != 0;
+    }
+    /**
+     * Gets the status of a player in the current position, working out the
+     * status of both players if the position changed since it was last asked.
+     *
+     * @param playerNum
+     *            the player (1 or 2)
+     * @return int STATUS_CHECKED and STATUS_HAS_MOVES, as they apply
+     */
+    private int getStatus( int playerNum ){
+        long hash = board.getHash();
+        if ( ( status & STATUS_KNOWN ) == 0 || statusHash != hash ){
+            int white = STATUS_KNOWN;
+            if ( king1.isChecked( board ) ){
+                white |= STATUS_CHECKED;
+            }
+            if ( board.hasLegalMoves( PieceColorEnum.WHITE ) ){
+                white |= STATUS_HAS_MOVES;
+            }
+            int black = STATUS_KNOWN;
+            if ( king2.isChecked( board ) ){
+                black |= STATUS_CHECKED;
+            }
+            if ( board.hasLegalMoves( PieceColorEnum.BLACK ) ){
+                black |= STATUS_HAS_MOVES;
+            }
+            status = white | ( black << STATUS_BITS );
+            statusHash = hash;
+        }
+        // player 2's bits sit above player 1's
+        return playerNum == 1 ? status : status >> STATUS_BITS;
+    }
+    /**
+     * Checks if the selected piece is a valid piece (i.e. if it is
+     * the correct color and if the user actually selected a piece.)
+     * @param currentPiece the piece the user selected, or null
+     * @return boolean true if the piece is valid, false otherwise
+     */
+    public boolean selectedPieceIsValid( ChessGamePiece currentPiece ){
+        if ( currentPiece == null ) // user tried to select an empty square
+        {
+            return false;
+        }
+        if ( currentPlayer == 2 ) // black player
+        {
+            return currentPiece.getColorOfPiece() == PieceColorEnum.BLACK;
+        }
+        else
+        // white player
+        {
+            return currentPiece.getColorOfPiece() == PieceColorEnum.WHITE;
+        }
+    }
+    /**
+     * Determines if the requested game.King is in check.
+     *
+     * @param checkCurrent
+     *            if true, will check if the current king is in check if false,
+     *            will check if the other player's king is in check.
+     * @return true if the king is in check, false otherwise
+     */
+    public boolean isKingInCheck( boolean checkCurrent ){
+        if ( checkCurrent ){
+            return playerIsInCheck( currentPlayer );
+        }
+        else
+        {
+            return playerIsInCheck( currentPlayer == 1 ? 2 : 1 );
+        }
+    }
+    /**
+     * Determines if the game should continue (i.e. game is in check or is
+     * 'normal'). If it should not, the listener is told the game is over.
+     */
+    private void checkGameConditions(){
+        int gameLostRetVal = determineGameLost();
+        if ( gameLostRetVal != 0 ){
+            // player 1 plays white
+            record.setResult( gameLostRetVal < 0 ? GameRecord.DRAW
+                : gameLostRetVal == 1 ? GameRecord.BLACK_WINS
+                : GameRecord.WHITE_WINS );
+        }
+        if ( gameLostRetVal < 0 ){
+            listener.gameOver( "Game over - STALEMATE. You should both go"
+                + " cry in a corner!" );
+            return;
+        }
+        else if ( gameLostRetVal > 0 ){
+            listener.gameOver( "Game over - CHECKMATE. " + "Player "
+                + gameLostRetVal + " loses and should go"
+                + " cry in a corner!" );
+            return;
+        }
+        // the player who moved first, then the next player
+        int otherPlayer = currentPlayer == 1 ? 2 : 1;
+        if ( playerIsInCheck( currentPlayer ) ){
+            listener.kingInCheck( currentPlayer );
+        }
+        if ( playerIsInCheck( otherPlayer ) ){
+            listener.kingInCheck( otherPlayer );
+        }
+        nextTurn();
+    }
+    /**
+     * Determines if the game is lost. Returns 1 or 2 for the losing player, -1
+     * for stalemate, or 0 for a still valid game.
+     *
+     * @return int 1 or 2 for the losing play, -1 for stalemate, or 0 for a
+     *         still valid game.
+     */
+    public int determineGameLost(){
+        if ( playerIsInCheck( 1 ) && !playerHasLegalMoves( 1 ) ) // player 1
+        // loss
+        {
+            return 1;
+        }
+        if ( playerIsInCheck( 2 ) && !playerHasLegalMoves( 2 ) ) // player 2
+        // loss
+        {
+            return 2;
+        }
+        if ( ( !playerIsInCheck( 1 ) && !playerHasLegalMoves( 1 ) )
+            || ( !playerIsInCheck( 2 ) && !playerHasLegalMoves( 2 ) )
+            || ( board.getPieceCount( PieceColorEnum.WHITE ) == 1 &&
+                board.getPieceCount( PieceColorEnum.BLACK ) == 1 ) )
+        // stalemate
+        {
+            return -1;
+        }
+        return 0; // game is still in play
+    }
+    // ----------------------------------------------------------
+    /**
+     * Moves the selected piece of the current player to row 'row' and column
+     * 'col', if that is a legal move. A pawn reaching the end of the board is
+     * promoted to a queen. Captures, the move itself and the end of turn are
+     * reported to the listener.
+     *
+     * @param currentPiece
+     *            the piece to move
+     * @param row
+     *            the row to move to
+     * @param col
+     *            the column to move to
+     * @return boolean true if the move was successful, false otherwise
+     */
+    public boolean movePiece( ChessGamePiece currentPiece, int row, int col ){
+        if ( !selectedPieceIsValid( currentPiece ) ){
+            return false;
+        }
+        MoveList legalMoves = currentPiece.getLegalMoves( board );
+        int index = legalMoves.indexOfTarget( ChessPosition.square( row, col ) );
+        if ( index < 0 ){
+            return false;
+        }
+        return playMove( legalMoves.get( index ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Plays a move for the current player, if it is legal. Captures, the move
+     * itself and the end of turn are reported to the listener, the same as for
+     * movePiece.
+     *
+     * @param move
+     *            the packed move (see game.Move), such as the best move of a
+     *            search
+     * @return boolean true if the move was played, false if it is not legal
+     */
+    public boolean playMove( int move ){
+        MoveList legalMoves = new MoveList();
+        board.generateLegalMoves( legalMoves );
+        if ( !legalMoves.contains( move ) ){
+            return false;
+        }
+        listener.begin();
+        try {
+            commitMove( move );
+        }
+        finally
+        {
+            listener.end();
+        }
+        return true;
+    }
+    /**
+     * Plays a legal move and reports it to the listener.
+     *
+     * @param move
+     *            the packed move
+     */
+    private void commitMove( int move ){
+        int fromRow = Move.getFromRow( move );
+        int fromCol = Move.getFromColumn( move );
+        int row = Move.getToRow( move );
+        int col = Move.getToColumn( move );
+        ChessGamePiece currentPiece = board.getPieceAt( fromRow, fromCol );
+        String moveLog = currentPiece.toString() + " -> ";
+        ChessGamePiece captured = null;
+        if ( Move.isCapture( move ) ){
+            // a pawn taken en passant stands beside the target square
+            captured = board.getPieceAt(
+                Move.isEnPassant( move ) ? fromRow : row, col );
+        }
+        record.addMove( move );
+        board.commitMove( move );
+        ply++;
+        if ( captured != null ){
+            listener.pieceCaptured( captured, currentPlayer );
+        }
+        moveLog += " (" + row + ", " + col + ")";
+        listener.logMove( move, ply, moveLog );
+        listener.pieceMoved( currentPiece, fromRow, fromCol, row, col );
+        checkGameConditions();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Searches for the best move of the current player, without playing it.
+     * Results are kept between calls, so searching again after a move is
+     * quicker. The search runs on getSearchThreads() threads.
+     *
+     * @param limits
+     *            when to stop searching
+     * @return SearchResult the best move found, with the depth, nodes, speed
+     *         and expected line of the search
+     */
+    public SearchResult findBestMove( SearchLimits limits ){
+        if ( transpositionTable == null ){
+            transpositionTable = new TranspositionTable( tableMegabytes );
+        }
+        return new ParallelSearcher( board, transpositionTable, searchThreads )
+            .search( limits );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sets the number of threads findBestMove searches with. The threads
+     * share one transposition table.
+     *
+     * @param threads
+     *            the number of threads, at least 1
+     */
+    public void setSearchThreads( int threads ){
+        if ( threads < 1 ){
+            throw new IllegalArgumentException( "A search needs at least one "
+                + "thread, not " + threads + "." );
+        }
+        searchThreads = threads;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of threads findBestMove searches with.
+     *
+     * @return int the number of threads
+     */
+    public int getSearchThreads(){
+        return searchThreads;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sets the size of the transposition table findBestMove searches with,
+     * e.g. at startup. Changing it throws away the results kept so far, and
+     * the next search starts with a new table of the new size.
+     *
+     * @param megabytes
+     *            the size in MB, at least 1 (see TranspositionTable)
+     */
+    public void setTableMegabytes( int megabytes ){
+        if ( megabytes < 1 ){
+            throw new IllegalArgumentException( "The transposition table "
+                + "needs at least 1 MB, not " + megabytes + "." );
+        }
+        if ( megabytes != tableMegabytes ){
+            tableMegabytes = megabytes;
+            transpositionTable = null;
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the size of the transposition table findBestMove searches with.
+     *
+     * @return int the size in MB
+     */
+    public int getTableMegabytes(){
+        return tableMegabytes;
+    }
+}
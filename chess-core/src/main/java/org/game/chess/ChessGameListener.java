@@ -0,0 +1,86 @@
+package org.game.chess;
+
+// -------------------------------------------------------------------------
+/**
+ * Receives the events of a game run by game.ChessGameEngine. This is how the
+ * engine talks to whatever shows the game, so that the rules themselves never
+ * depend on a particular user interface.
+ * <p>
+ * Only moves that are played are reported. The moves made and taken back on
+ * the position while checking legality or searching never are.
+ */
+public interface ChessGameListener {
+    // ----------------------------------------------------------
+    /**
+     * A new game has been set up on the position. Views should redraw the
+     * board and forget everything about the previous game.
+     */
+    void gameStarted();
+    // ----------------------------------------------------------
+    /**
+     * Adds a new line of text to the game log.
+     *
+     * @param message
+     *            the line of text to add
+     */
+    void logMessage( String message );
+    // ----------------------------------------------------------
+    /**
+     * Adds the line for a move that has been played to the game log.
+     *
+     * @param move
+     *            the packed move (see game.Move)
+     * @param ply
+     *            the number of moves played in the game, this one included
+     * @param description
+     *            the line of text to add
+     */
+    void logMove( int move, int ply, String description );
+    // ----------------------------------------------------------
+    /**
+     * A piece has been moved on the position.
+     *
+     * @param piece
+     *            the piece that moved
+     * @param fromRow
+     *            the row it moved from
+     * @param fromCol
+     *            the column it moved from
+     * @param toRow
+     *            the row it moved to
+     * @param toCol
+     *            the column it moved to
+     */
+    void pieceMoved(
+        ChessGamePiece piece,
+        int fromRow,
+        int fromCol,
+        int toRow,
+        int toCol );
+    // ----------------------------------------------------------
+    /**
+     * A piece has been captured and taken off the board.
+     *
+     * @param piece
+     *            the captured piece
+     * @param capturingPlayer
+     *            the player who captured it (1 or 2)
+     */
+    void pieceCaptured( ChessGamePiece piece, int capturingPlayer );
+    // ----------------------------------------------------------
+    /**
+     * The king of a player is in check after the last move.
+     *
+     * @param player
+     *            the player whose king is in check (1 or 2)
+     */
+    void kingInCheck( int player );
+    // ----------------------------------------------------------
+    /**
+     * The game has ended (i.e. stalemate, checkmate, etc).
+     *
+     * @param endGameStr
+     *            the string describing how the game ended
+     */
+    void gameOver( String endGameStr );
+}
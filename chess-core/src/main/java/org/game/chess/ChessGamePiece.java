@@ -1,11 +1,10 @@
 package org.game.chess;
 
-import java.awt.Color;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
-import javax.swing.ImageIcon;
 import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
 // -------------------------------------------------------------------------
 /**
  * Abstract class that is used to represent a game piece on the chess board.
@@ -21,12 +20,11 @@ import org.game.chess.enums.PieceColorEnum;
 public abstract class ChessGamePiece implements Serializable {
     private boolean             skipMoveGeneration;
     private PieceColorEnum      pieceColor;
-    private ImageIcon           pieceImage;
     /**
      * The list of possible moves for this piece. Updated when actions involving
      * this piece occur. (created, moved, selected, etc)
      */
-    protected List<String> possibleMoves;
+    protected MoveList          possibleMoves;
     /**
      * The game piece's row.
      */
@@ -51,19 +49,19 @@ public abstract class ChessGamePiece implements Serializable {
      *            either GamePiece.WHITE, BLACK, or UNASSIGNED
      */
     protected ChessGamePiece(
-        ChessGameBoard board,
+        ChessPosition board,
         int row,
         int col,
         PieceColorEnum pieceColor ){
         skipMoveGeneration = false;
         this.pieceColor = pieceColor;
-        pieceImage = createImageByPieceType();
+        possibleMoves = new MoveList();
         pieceRow = row;
         pieceColumn = col;
-        if ( board.getCell( row, col ) != null ){
-            board.getCell( row, col ).setPieceOnSquare( this );
+        if ( ChessPosition.isOnBoard( row, col ) ){
+            board.placePiece( this, row, col );
         }
-        possibleMoves = calculatePossibleMoves( board );
+        updatePossibleMoves( board );
     }
     // ----------------------------------------------------------
     /**
@@ -83,59 +81,162 @@ public abstract class ChessGamePiece implements Serializable {
      *            either GamePiece.BLACK, WHITE, or UNASSIGNED
      */
     protected ChessGamePiece(
-        ChessGameBoard board,
+        ChessPosition board,
         int row,
         int col,
         PieceColorEnum pieceColor,
         boolean skipMoveGeneration ){
         this.skipMoveGeneration = skipMoveGeneration;
         this.pieceColor = pieceColor;
-        pieceImage = this.createImageByPieceType();
+        possibleMoves = new MoveList();
         pieceRow = row;
         pieceColumn = col;
-        if ( board.getCell( row, col ) != null ){
-            board.getCell(row, col).setPieceOnSquare( this );
+        if ( ChessPosition.isOnBoard( row, col ) ){
+            board.placePiece( this, row, col );
         }
         if ( !this.skipMoveGeneration ){
-            possibleMoves = calculatePossibleMoves( board );
+            updatePossibleMoves( board );
         }
     }
     // ----------------------------------------------------------
     /**
-     * Generates and returns a list of Strings that represent possible move
-     * locations for the piece, in the following format: ["xloc_0,yloc_0",
-     * "xloc_1,yloc_1", ...] It is recommended to use the helper methods below
-     * to implement this method. (calculateNorth, calculateWest, ...)
+     * Generates the possible moves for the piece as packed ints (see
+     * game.Move) and adds them to a list. It is recommended to use the helper
+     * methods below to implement this method. (calculateNorth, calculateWest,
+     * ...)
      *
      * @param board
      *            the board to check moves on
-     * @return List<String> the list of moves
+     * @param moves
+     *            the list to add the moves to
+     */
+    protected abstract void calculatePossibleMoves(
+        ChessPosition board,
+        MoveList moves );
+    // ----------------------------------------------------------
+    /**
+     * Generates the possible moves for the piece by walking the board one
+     * square at a time in each direction. The sliding pieces look their moves
+     * up in game.Attacks instead and override this with their old walk, which
+     * finds the same moves; it is kept to cross-check the tables (see
+     * game.Perft). Other pieces have only the one way.
+     *
+     * @param board
+     *            the board to check moves on
+     * @param moves
+     *            the list to add the moves to
+     */
+    void calculateWalkedMoves( ChessPosition board, MoveList moves ){
+        calculatePossibleMoves( board, moves );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds the move of this piece to row 'row' and column 'col' to a list,
+     * noting the piece it captures, if any.
+     *
+     * @param board
+     *            the board the move is made on
+     * @param moves
+     *            the list to add the move to
+     * @param row
+     *            the row to move to
+     * @param col
+     *            the column to move to
+     */
+    protected void addMove(
+        ChessPosition board,
+        MoveList moves,
+        int row,
+        int col ){
+        addMove( board, moves, row, col, 0, 0 );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds the move of this piece to row 'row' and column 'col' to a list,
+     * noting the piece it captures, if any, and any special flags.
+     *
+     * @param board
+     *            the board the move is made on
+     * @param moves
+     *            the list to add the move to
+     * @param row
+     *            the row to move to
+     * @param col
+     *            the column to move to
+     * @param promotion
+     *            the ordinal of the type promoted to, if flags contains
+     *            Move.PROMOTION
+     * @param flags
+     *            any of the flags of game.Move
+     */
+    protected void addMove(
+        ChessPosition board,
+        MoveList moves,
+        int row,
+        int col,
+        int promotion,
+        int flags ){
+        ChessGamePiece captured = board.getPieceAt( row, col );
+        int capturedType = 0;
+        if ( captured != null ){
+            capturedType = captured.getPieceType().ordinal();
+            flags |= Move.CAPTURE;
+        }
+        moves.add( Move.create(
+            ChessPosition.square( pieceRow, pieceColumn ),
+            ChessPosition.square( row, col ),
+            getPieceType().ordinal(),
+            capturedType,
+            promotion,
+            flags ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds a move of this piece to every square of a mask, noting the pieces
+     * they capture.
+     *
+     * @param board
+     *            the board the moves are made on
+     * @param moves
+     *            the list to add the moves to
+     * @param targets
+     *            the mask of squares to move to, none of them holding a
+     *            piece of this piece's color
      */
-    protected abstract List<String> calculatePossibleMoves(
-        ChessGameBoard board );
+    protected void addMoves(
+        ChessPosition board,
+        MoveList moves,
+        long targets ){
+        while ( targets != 0 ){
+            int sq = Long.numberOfTrailingZeros( targets );
+            addMove( board, moves, sq >> 3, sq & 7 );
+            targets &= targets - 1;
+        }
+    }
     /**
-     * Calculates and returns moves in the south direction relative to this
+     * Calculates the moves in the south direction relative to this
      * piece.
      *
      * @param board
      *            the board to calculate the moves on
      * @param numMoves
      *            the number of moves to calculate
-     * @return List<String> the calculated moves.
+     * @param moves
+     *            the list to add the moves to
      */
-    protected List<String> calculateSouthMoves(
-        ChessGameBoard board,
-        int numMoves ){
-        List<String> moves = new ArrayList<>();
+    protected void calculateSouthMoves(
+        ChessPosition board,
+        int numMoves,
+        MoveList moves ){
         int count = 0;
         if ( isPieceOnScreen() ) {
             for (int i = pieceRow + 1; i < 8 && count < numMoves; i++) {
-                ChessGamePiece currentPiece = board.getCell(i, pieceColumn).getPieceOnSquare();
+                ChessGamePiece currentPiece = board.getPieceAt(i, pieceColumn);
                 boolean currPieceIsEnemy = isEnemy(board, i, pieceColumn);
 
                 // add if the square is empty or there is a enemy piece
                 if (currentPiece == null || currPieceIsEnemy) {
-                    moves.add(i + "," + pieceColumn);
+                    addMove( board, moves, i, pieceColumn );
                     count++;
                 }
                 // stop when there is a piece
@@ -145,29 +246,29 @@ public abstract class ChessGamePiece implements Serializable {
 
             }
         }
-        return moves;
     }
     // ----------------------------------------------------------
     /**
-     * Calculates and returns moves in the north direction relative to this
+     * Calculates the moves in the north direction relative to this
      * piece.
      *
      * @param board
      *            the board to calculate the moves on
      * @param numMoves
      *            the number of moves to calculate
-     * @return List<String> the moves in this direction
+     * @param moves
+     *            the list to add the moves to
      */
-    protected List<String> calculateNorthMoves(
-        ChessGameBoard board,
-        int numMoves ){
-        List<String> moves = new ArrayList<>();
+    protected void calculateNorthMoves(
+        ChessPosition board,
+        int numMoves,
+        MoveList moves ){
         int count = 0;
         if ( isPieceOnScreen() ){
             for ( int i = pieceRow - 1; i >= 0 && count < numMoves; i-- ){
-                if ( ( board.getCell( i, pieceColumn ).getPieceOnSquare()
-                    == null || isEnemy( board, i, pieceColumn ) ) ){
-                    moves.add( i + "," + pieceColumn );
+                if ( ( board.isEmpty( i, pieceColumn )
+                    || isEnemy( board, i, pieceColumn ) ) ){
+                    addMove( board, moves, i, pieceColumn );
                     count++;
                     if ( isEnemy( board, i, pieceColumn ) ){
                         break;
@@ -179,29 +280,29 @@ public abstract class ChessGamePiece implements Serializable {
                 }
             }
         }
-        return moves;
     }
     // ----------------------------------------------------------
     /**
-     * Calculates and returns moves in the east direction relative to this
+     * Calculates the moves in the east direction relative to this
      * piece.
      *
      * @param board
      *            the board to calculate the moves on
      * @param numMoves
      *            the number of moves to calculate
-     * @return List<String> the moves in this direction
+     * @param moves
+     *            the list to add the moves to
      */
-    protected List<String> calculateEastMoves(
-        ChessGameBoard board,
-        int numMoves ){
-        List<String> moves = new ArrayList<>();
+    protected void calculateEastMoves(
+        ChessPosition board,
+        int numMoves,
+        MoveList moves ){
         int count = 0;
         if ( isPieceOnScreen() ){
             for ( int i = pieceColumn + 1; i < 8 && count < numMoves; i++ ){
-                if ( ( board.getCell( pieceRow, i ).getPieceOnSquare()
-                    == null || isEnemy( board, pieceRow, i ) ) ){
-                    moves.add( pieceRow + "," + i );
+                if ( ( board.isEmpty( pieceRow, i )
+                    || isEnemy( board, pieceRow, i ) ) ){
+                    addMove( board, moves, pieceRow, i );
                     count++;
                     if ( isEnemy( board, pieceRow, i ) ){
                         break;
@@ -213,29 +314,29 @@ public abstract class ChessGamePiece implements Serializable {
                 }
             }
         }
-        return moves;
     }
     // ----------------------------------------------------------
     /**
-     * Calculates and returns moves in the west direction relative to this
+     * Calculates the moves in the west direction relative to this
      * piece.
      *
      * @param board
      *            the board to calculate the moves on
      * @param numMoves
      *            the number of moves to calculate
-     * @return List<String> the moves in this direction
+     * @param moves
+     *            the list to add the moves to
      */
-    protected List<String> calculateWestMoves(
-        ChessGameBoard board,
-        int numMoves ){
-        List<String> moves = new ArrayList<>();
+    protected void calculateWestMoves(
+        ChessPosition board,
+        int numMoves,
+        MoveList moves ){
         int count = 0;
         if ( isPieceOnScreen() ){
             for ( int i = pieceColumn - 1; i >= 0 && count < numMoves; i-- ){
-                if ( ( board.getCell(pieceRow, i ).getPieceOnSquare()
-                    == null || isEnemy( board, pieceRow, i ) ) ){
-                    moves.add( pieceRow + "," + i );
+                if ( ( board.isEmpty( pieceRow, i )
+                    || isEnemy( board, pieceRow, i ) ) ){
+                    addMove( board, moves, pieceRow, i );
                     count++;
                     if ( isEnemy( board, pieceRow, i ) ){
                         break;
@@ -247,34 +348,33 @@ public abstract class ChessGamePiece implements Serializable {
                 }
             }
         }
-        return moves;
     }
     // ----------------------------------------------------------
     /**
-     * Calculates and returns moves in the north-west direction relative to this
+     * Calculates the moves in the north-west direction relative to this
      * piece.
      *
      * @param board
      *            the board to calculate the moves on
      * @param numMoves
      *            the number of moves to calculate
-     * @return List<String> the moves in this direction
+     * @param moves
+     *            the list to add the moves to
      */
-    protected List<String> calculateNorthWestMoves(
-        ChessGameBoard board,
-        int numMoves ){
-        List<String> moves = new ArrayList<>();
+    protected void calculateNorthWestMoves(
+        ChessPosition board,
+        int numMoves,
+        MoveList moves ){
         int count = 0;
         if ( isPieceOnScreen() ){
             for ( int i = 1; i < 8 && count < numMoves; i++ ){
                 if ( isOnScreen( pieceRow - i, pieceColumn - i )
-                    && ( board.getCell( pieceRow - i,
-                        pieceColumn - i ).getPieceOnSquare() == null ) ){
-                    moves.add( ( pieceRow - i ) + "," + ( pieceColumn - i ) );
+                    && ( board.isEmpty( pieceRow - i, pieceColumn - i ) ) ){
+                    addMove( board, moves, pieceRow - i, pieceColumn - i );
                     count++;
                 }
                 else if ( isEnemy( board, pieceRow - i, pieceColumn - i ) ){
-                    moves.add( ( pieceRow - i ) + "," + ( pieceColumn - i ) );
+                    addMove( board, moves, pieceRow - i, pieceColumn - i );
                     count++;
                     break;
                 }
@@ -284,34 +384,33 @@ public abstract class ChessGamePiece implements Serializable {
                 }
             }
         }
-        return moves;
     }
     // ----------------------------------------------------------
     /**
-     * Calculates and returns moves in the north-east direction relative to this
+     * Calculates the moves in the north-east direction relative to this
      * piece.
      *
      * @param board
      *            the board to calculate the moves on
      * @param numMoves
      *            the number of moves to calculate
-     * @return List<String> the moves in this direction
+     * @param moves
+     *            the list to add the moves to
      */
-    protected List<String> calculateNorthEastMoves(
-        ChessGameBoard board,
-        int numMoves ){
-        List<String> moves = new ArrayList<>();
+    protected void calculateNorthEastMoves(
+        ChessPosition board,
+        int numMoves,
+        MoveList moves ){
         int count = 0;
         if ( isPieceOnScreen() ){
             for ( int i = 1; i < 8 && count < numMoves; i++ ){
                 if ( isOnScreen( pieceRow - i, pieceColumn + i )
-                    && ( board.getCell( pieceRow - i,
-                        pieceColumn + i).getPieceOnSquare() == null ) ){
-                    moves.add( ( pieceRow - i ) + "," + ( pieceColumn + i ) );
+                    && ( board.isEmpty( pieceRow - i, pieceColumn + i ) ) ){
+                    addMove( board, moves, pieceRow - i, pieceColumn + i );
                     count++;
                 }
                 else if ( isEnemy( board, pieceRow - i, pieceColumn + i ) ){
-                    moves.add( ( pieceRow - i ) + "," + ( pieceColumn + i ) );
+                    addMove( board, moves, pieceRow - i, pieceColumn + i );
                     count++;
                     break;
                 }
@@ -321,34 +420,33 @@ public abstract class ChessGamePiece implements Serializable {
                 }
             }
         }
-        return moves;
     }
     // ----------------------------------------------------------
     /**
-     * Calculates and returns moves in the south-west direction relative to this
+     * Calculates the moves in the south-west direction relative to this
      * piece.
      *
      * @param board
      *            the board to calculate the moves on
      * @param numMoves
      *            the number of moves to calculate
-     * @return List<String> the moves in this direction
+     * @param moves
+     *            the list to add the moves to
      */
-    protected List<String> calculateSouthWestMoves(
-        ChessGameBoard board,
-        int numMoves ){
-        List<String> moves = new ArrayList<>();
+    protected void calculateSouthWestMoves(
+        ChessPosition board,
+        int numMoves,
+        MoveList moves ){
         int count = 0;
         if ( isPieceOnScreen() ){
             for ( int i = 1; i < 8 && count < numMoves; i++ ){
                 if ( isOnScreen( pieceRow + i, pieceColumn - i )
-                    && ( board.getCell( pieceRow + i,
-                        pieceColumn - i ).getPieceOnSquare() == null ) ){
-                    moves.add( ( pieceRow + i ) + "," + ( pieceColumn - i ) );
+                    && ( board.isEmpty( pieceRow + i, pieceColumn - i ) ) ){
+                    addMove( board, moves, pieceRow + i, pieceColumn - i );
                     count++;
                 }
                 else if ( isEnemy( board, pieceRow + i, pieceColumn - i ) ){
-                    moves.add( ( pieceRow + i ) + "," + ( pieceColumn - i ) );
+                    addMove( board, moves, pieceRow + i, pieceColumn - i );
                     count++;
                     break;
                 }
@@ -358,34 +456,33 @@ public abstract class ChessGamePiece implements Serializable {
                 }
             }
         }
-        return moves;
     }
     // ----------------------------------------------------------
     /**
-     * Calculates and returns moves in the south-east direction relative to this
+     * Calculates the moves in the south-east direction relative to this
      * piece.
      *
      * @param board
      *            the board to calculate the moves on
      * @param numMoves
      *            the number of moves to calculate
-     * @return List<String> the moves in this direction
+     * @param moves
+     *            the list to add the moves to
      */
-    protected List<String> calculateSouthEastMoves(
-        ChessGameBoard board,
-        int numMoves ){
-        List<String> moves = new ArrayList<>();
+    protected void calculateSouthEastMoves(
+        ChessPosition board,
+        int numMoves,
+        MoveList moves ){
         int count = 0;
         if ( isPieceOnScreen() ){
             for ( int i = 1; i < 8 && count < numMoves; i++ ){
                 if ( isOnScreen( pieceRow + i, pieceColumn + i )
-                    && ( board.getCell( pieceRow + i,
-                        pieceColumn + i ).getPieceOnSquare() == null ) ){
-                    moves.add( ( pieceRow + i ) + "," + ( pieceColumn + i ) );
+                    && ( board.isEmpty( pieceRow + i, pieceColumn + i ) ) ){
+                    addMove( board, moves, pieceRow + i, pieceColumn + i );
                     count++;
                 }
                 else if ( isEnemy( board, pieceRow + i, pieceColumn + i ) ){
-                    moves.add( ( pieceRow + i ) + "," + ( pieceColumn + i ) );
+                    addMove( board, moves, pieceRow + i, pieceColumn + i );
                     count++;
                     break;
                 }
@@ -395,23 +492,13 @@ public abstract class ChessGamePiece implements Serializable {
                 }
             }
         }
-        return moves;
     }
     /**
-     * Creates the ImageIcon by the color of the piece.
+     * Gets the type of this piece, used to file it in the position's masks.
      *
-     * @return ImageIcon the image that represents this game piece, different
-     *         for each piece.
+     * @return PieceTypeEnum the type of this piece
      */
-    public abstract ImageIcon createImageByPieceType();
-    /**
-     * Return the ImageIcon as an Image.
-     *
-     * @return ImageIcon The ImageIcon as an Image
-     */
-    public ImageIcon getImage(){
-        return pieceImage;
-    }
+    public abstract PieceTypeEnum getPieceType();
     // ----------------------------------------------------------
     /**
      * Gets the color of this piece.
@@ -448,30 +535,10 @@ public abstract class ChessGamePiece implements Serializable {
      *            the column to move to
      * @return boolean true if the move was successful, false otherwise
      */
-    public boolean move( ChessGameBoard board, int row, int col ){
+    public boolean move( ChessPosition board, int row, int col ){
         if ( canMove( board, row, col ) ){
-            String moveLog = this.toString() + " -> ";
-            board.clearCell( pieceRow, pieceColumn );
-            if ( isEnemy( board, row, col ) ){
-                ChessGraveyard graveyard;
-                ChessGameEngine gameEngine =
-                    ( (ChessPanel)board.getParent() ).getGameEngine();
-                if ( gameEngine.getCurrentPlayer() == 1 ){
-                    graveyard =
-                        ( (ChessPanel)board.getParent() ).getGraveyard( 2 );
-                }
-                else
-                {
-                    graveyard =
-                        ( (ChessPanel)board.getParent() ).getGraveyard( 1 );
-                }
-                graveyard.addPiece(
-                    board.getCell( row, col ).getPieceOnSquare() );
-            }
-            setPieceLocation( row, col );
-            moveLog += " (" + row + ", " + col + ")";
-            ( (ChessPanel)board.getParent() ).getGameLog().addToLog( moveLog );
-            board.getCell( row, col ).setPieceOnSquare( this );
+            board.commitMove( possibleMoves.get(
+                possibleMoves.indexOfTarget( ChessPosition.square( row, col ) ) ) );
             if ( !skipMoveGeneration ){
                 updatePossibleMoves( board );
             }
@@ -494,47 +561,10 @@ public abstract class ChessGamePiece implements Serializable {
      *            the column to move to
      * @return boolean true if this piece can make the move, false if it cannot
      */
-    public boolean canMove( ChessGameBoard board, int row, int col ){
-        updatePossibleMoves( board );
-        if ( possibleMoves.indexOf( row + "," + col ) > -1 ){
-            return testMoveForKingSafety( board, row, col );
-        }
-        return false;
-    }
-    /**
-     * Checks if the move that is about to be made would cause the current
-     * player's game.King to be put in check (which is an illegal move).
-     *
-     * @param board
-     *            the game board to check on
-     * @param row
-     *            the row to move to
-     * @param col
-     *            the column to move to
-     * @return boolean true if the move is safe, false if it is not
-     */
-    private boolean testMoveForKingSafety(
-        ChessGameBoard board,
-        int row,
-        int col ){
+    public boolean canMove( ChessPosition board, int row, int col ){
         updatePossibleMoves( board );
-        ChessGamePiece oldPieceOnOtherSquare =
-            board.getCell( row, col ).getPieceOnSquare();
-        ChessGameEngine engine =
-            ( (ChessPanel)board.getParent() ).getGameEngine();
-        int oldRow = pieceRow;
-        int oldColumn = pieceColumn;
-        board.clearCell( pieceRow, pieceColumn ); // move us off
-        this.setPieceLocation( row, col ); // move us to the new location
-        board.getCell( row, col ).setPieceOnSquare( this );
-        boolean retVal = !engine.isKingInCheck( true ); // is the current
-        // king still in check?
-        this.setPieceLocation( oldRow, oldColumn ); // move us back
-        board.getCell( oldRow, oldColumn ).setPieceOnSquare( this );
-        board.clearCell( row, col ); // ^ move the other piece back
-        // to where it was
-        board.getCell( row, col ).setPieceOnSquare( oldPieceOnOtherSquare );
-        return retVal;
+        return getLegalMoves( board ).indexOfTarget(
+            ChessPosition.square( row, col ) ) > -1;
     }
     // ----------------------------------------------------------
     /**
@@ -544,8 +574,9 @@ public abstract class ChessGamePiece implements Serializable {
      * @param board
      *            the board to calculate moves on
      */
-    protected void updatePossibleMoves( ChessGameBoard board ){
-        possibleMoves = calculatePossibleMoves( board );
+    protected void updatePossibleMoves( ChessPosition board ){
+        possibleMoves.clear();
+        calculatePossibleMoves( board, possibleMoves );
     }
     // ----------------------------------------------------------
     /**
@@ -580,31 +611,30 @@ public abstract class ChessGamePiece implements Serializable {
     }
     // ----------------------------------------------------------
     /**
-     * Shows the legal move locations for this GamePiece.
+     * Gets the legal moves for this GamePiece.
      *
      * @param board
-     *            The board to show the move locations on
+     *            the game board to check
+     * @return MoveList the moves that do not leave the king in check
      */
-    public void showLegalMoves( ChessGameBoard board ){
-        updatePossibleMoves( board );
-        if ( isPieceOnScreen() ){
-            for ( String locStr : possibleMoves ){
-                String[] currCoords = locStr.split( "," );
-                int row = Integer.parseInt( currCoords[0] );
-                int col = Integer.parseInt( currCoords[1] );
-                if ( canMove( board, row, col ) ) // only show legal moves
-                {
-                    if ( isEnemy( board, row, col ) ){
-                        board.getCell( row, col ).setBackground(
-                            Color.YELLOW );
-                    }
-                    else
-                    {
-                        board.getCell( row, col ).setBackground( Color.PINK );
-                    }
-                }
-            }
-        }
+    public MoveList getLegalMoves( ChessPosition board ){
+        MoveList legalMoves = new MoveList();
+        addLegalMoves( board, legalMoves );
+        return legalMoves;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds the legal moves for this GamePiece to a list, so callers that
+     * generate moves over and over can reuse one list.
+     *
+     * @param board
+     *            the game board to check
+     * @param moves
+     *            the list to add the moves that do not leave the king in
+     *            check to
+     */
+    public void addLegalMoves( ChessPosition board, MoveList moves ){
+        board.addLegalMoves( this, moves );
     }
     // ----------------------------------------------------------
     /**
@@ -614,48 +644,34 @@ public abstract class ChessGamePiece implements Serializable {
      *            the game board to check
      * @return true if there are legal moves, false if there are not
      */
-    public boolean hasLegalMoves( ChessGameBoard board ){
-        updatePossibleMoves( board );
-        if ( isPieceOnScreen() ){
-            for ( String locStr : possibleMoves ){
-                String[] currCoords = locStr.split( "," );
-                int row = Integer.parseInt( currCoords[0] );
-                int col = Integer.parseInt( currCoords[1] );
-                if ( canMove( board, row, col ) ) // only show legal moves
-                {
-                    return true;
-                }
-            }
-            return false;
-        }
-        return false;
+    public boolean hasLegalMoves( ChessPosition board ){
+        return !getLegalMoves( board ).isEmpty();
     }
 
     // ----------------------------------------------------------
     /**
-     * Gets a list of GamePieces that can currently attack this game piece.
+     * Gets a list of GamePieces that can currently attack this game piece,
+     * whether or not they are pinned to their own king.
      *
      * @param board the game board to check on
      * @return List<GamePiece> the list of attackers
      */
-    public List<ChessGamePiece> getCurrentAttackers( ChessGameBoard board ){
+    public List<ChessGamePiece> getCurrentAttackers( ChessPosition board ){
         List<ChessGamePiece> attackers = new ArrayList<>();
         PieceColorEnum enemyColor =
             ( this.getColorOfPiece() == PieceColorEnum.BLACK )
                 ? PieceColorEnum.WHITE
                 : PieceColorEnum.BLACK;
         this.updatePossibleMoves( board );
-        for ( int i = 0; i < board.getCells().length; i++ ){
-            for ( int j = 0; j < board.getCells()[0].length; j++ ){
-                ChessGamePiece currPiece =
-                    board.getCell( i, j ).getPieceOnSquare();
-                if ( currPiece != null
-                    && currPiece.getColorOfPiece() == enemyColor ){
-                    currPiece.updatePossibleMoves( board );
-                    if ( currPiece.canMove( board, pieceRow, pieceColumn ) ){
-                        attackers.add( currPiece );
-                    }
-                }
+        long enemies = board.getOccupancy( enemyColor );
+        while ( enemies != 0 ){
+            int sq = Long.numberOfTrailingZeros( enemies );
+            enemies &= enemies - 1;
+            ChessGamePiece currPiece = board.getPieceAt( sq >> 3, sq & 7 );
+            currPiece.updatePossibleMoves( board );
+            if ( currPiece.possibleMoves.indexOfTarget(
+                ChessPosition.square( pieceRow, pieceColumn ) ) > -1 ){
+                attackers.add( currPiece );
             }
         }
         return attackers;
@@ -672,14 +688,11 @@ public abstract class ChessGamePiece implements Serializable {
             + ", " + pieceColumn + ")";
     }
 
-    public boolean isEnemy( ChessGameBoard board, int row, int col ){
+    public boolean isEnemy( ChessPosition board, int row, int col ){
         if ( row > 7 || col > 7 || row < 0 || col < 0 ){
             return false;
         }
-        ChessGamePiece enemyPiece =
-            board.getCell( row, col ).getPieceOnSquare() == null
-                ? null
-                : board.getCell( row, col ).getPieceOnSquare();
+        ChessGamePiece enemyPiece = board.getPieceAt( row, col );
         if ( enemyPiece == null
             || this.getColorOfPiece() == PieceColorEnum.UNASSIGNED
             || enemyPiece.getColorOfPiece() == PieceColorEnum.UNASSIGNED ){
@@ -0,0 +1,1408 @@
+package org.game.chess;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * The position model behind the Chess game. Every piece is recorded in one
+ * 64-bit mask per piece type and color, with occupancy masks for each color
+ * and for the whole board kept alongside. Square (row, col) is bit
+ * row * 8 + col, so row 0 / column 0 is the top-left square of the board.
+ * This is the source of truth for the rules; game.ChessGameBoard only
+ * renders it.
+ * <p>
+ * Moves are tried with makeMove and taken back with unmakeMove. Only what
+ * cannot be recomputed (the moved and captured pieces, castling rights and
+ * the en passant square) is saved, on a fixed-size undo stack, and the
+ * pieces pawns are promoted to are kept when the promotion is taken back and
+ * used again, so trying moves does not allocate once the position has been
+ * searched a little, and never touches the user interface.
+ * <p>
+ * For each color the number of its pieces attacking every square is kept
+ * alongside, together with the squares each piece attacks. The counts are
+ * bit-sliced: bit i of every square's count is held in one mask, so adding
+ * or removing a piece's attacks takes a few operations on whole masks. They are updated
+ * whenever a piece is placed or removed, for the piece itself and for the
+ * sliding pieces whose rays pass the square, so asking whether a square is
+ * attacked or a king is in check is a single lookup.
+ * <p>
+ * The pieces of each color are also kept in a list, appended to when a piece
+ * is placed and filled from the end of the list when one is removed, so
+ * getAllPieces is a read-only view of it and getPieceCount a field read.
+ * <p>
+ * A Zobrist hash of the position (see game.Zobrist) is updated by XOR in the
+ * same places, so a position can be identified without rescanning it. The
+ * hashes of the positions of the game since its last capture or pawn move
+ * are kept as moves are committed, so repetitions of positions from before
+ * a search are seen too.
+ */
+public class ChessPosition implements Serializable {
+    /**
+     * Castling right: white may still castle on the king's side.
+     */
+    public static final int WHITE_KINGSIDE  = 1;
+    /**
+     * Castling right: white may still castle on the queen's side.
+     */
+    public static final int WHITE_QUEENSIDE = 2;
+    /**
+     * Castling right: black may still castle on the king's side.
+     */
+    public static final int BLACK_KINGSIDE  = 4;
+    /**
+     * Castling right: black may still castle on the queen's side.
+     */
+    public static final int BLACK_QUEENSIDE = 8;
+    /**
+     * All four castling rights, as at the start of a game.
+     */
+    public static final int ALL_CASTLING    = 15;
+    /**
+     * The number of moves that can be made before any is taken back.
+     */
+    public static final int MAX_UNDO        = 512;
+
+    // enough bits to count every piece of one color attacking one square
+    private static final int   COUNT_BITS         = 5;
+    // the clock is kept in the top bits of an undo state
+    private static final int   MAX_HALFMOVE_CLOCK = ( 1 << 20 ) - 1;
+    private static final int   TYPE_COUNT         =
+        PieceTypeEnum.values().length;
+    // no more pawns of one color can be promoted at once
+    private static final int   MAX_PROMOTED       = 8;
+    private static final int[] CASTLING_MASK      = new int[64];
+    static {
+        // moving a king or rook off, or capturing on, a home square loses
+        // the castling rights that depend on it
+        Arrays.fill( CASTLING_MASK, ALL_CASTLING );
+        CASTLING_MASK[square( 7, 0 )] &= ~WHITE_QUEENSIDE;
+        CASTLING_MASK[square( 7, 7 )] &= ~WHITE_KINGSIDE;
+        CASTLING_MASK[square( 7, 4 )] &= ~( WHITE_KINGSIDE | WHITE_QUEENSIDE );
+        CASTLING_MASK[square( 0, 0 )] &= ~BLACK_QUEENSIDE;
+        CASTLING_MASK[square( 0, 7 )] &= ~BLACK_KINGSIDE;
+        CASTLING_MASK[square( 0, 4 )] &= ~( BLACK_KINGSIDE | BLACK_QUEENSIDE );
+    }
+
+    private final long[][]         pieceMasks;
+    private final long[]           colorMasks;
+    private long                   occupiedMask;
+    private final ChessGamePiece[] squares;
+    private final ChessGamePiece[] pieceLists;
+    private final int[]            pieceListSquares;
+    private final int[]            pieceCounts;
+    private final int[]            pieceListSlots;
+    private final PieceList[]      pieceViews;
+    private final long[][]         attackCounts;
+    private final long[]           pieceAttacks;
+    private PieceColorEnum         sideToMove;
+    private int                    castlingRights;
+    private int                    enPassantSquare;
+    private int                    halfmoveClock;
+    private int                    fullmoveNumber;
+    private long                   hash;
+    private final int[]            undoMoves;
+    private final int[]            undoStates;
+    private final long[]           undoHashes;
+    private final ChessGamePiece[] undoMoved;
+    private final ChessGamePiece[] undoCaptured;
+    private int                    undoCount;
+    private final ChessGamePiece[] promotionPool;
+    private final int[]            promotionPoolSizes;
+    private long[]                 gameHashes;
+    private int                    gameHashCount;
+    private final MoveList         pseudoLegalMoves;
+    private final MoveList         legalMoves;
+    private int                    legalKing;
+    private long                   legalCheckers;
+    private long                   legalPinned;
+    private long                   legalTargets;
+    // ----------------------------------------------------------
+    /**
+     * Create a new, empty game.ChessPosition with white to move.
+     */
+    public ChessPosition(){
+        pieceMasks = new long[2][PieceTypeEnum.values().length];
+        colorMasks = new long[2];
+        squares = new ChessGamePiece[64];
+        // the list of a color takes 64 slots from color * 64 on
+        pieceLists = new ChessGamePiece[128];
+        pieceListSquares = new int[128];
+        pieceCounts = new int[2];
+        pieceListSlots = new int[64];
+        pieceViews = new PieceList[] { new PieceList( 0 ), new PieceList( 1 ) };
+        attackCounts = new long[2][COUNT_BITS];
+        pieceAttacks = new long[64];
+        sideToMove = PieceColorEnum.WHITE;
+        enPassantSquare = -1;
+        fullmoveNumber = 1;
+        undoMoves = new int[MAX_UNDO];
+        undoStates = new int[MAX_UNDO];
+        undoHashes = new long[MAX_UNDO];
+        undoMoved = new ChessGamePiece[MAX_UNDO];
+        undoCaptured = new ChessGamePiece[MAX_UNDO];
+        // each color and type has MAX_PROMOTED slots
+        promotionPool = new ChessGamePiece[2 * TYPE_COUNT * MAX_PROMOTED];
+        promotionPoolSizes = new int[2 * TYPE_COUNT];
+        gameHashes = new long[16];
+        pseudoLegalMoves = new MoveList();
+        legalMoves = new MoveList();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the square index of the requested location.
+     *
+     * @param row
+     *            the row of the square
+     * @param col
+     *            the column of the square
+     * @return int the square index, between 0 and 63
+     */
+    public static int square( int row, int col ){
+        return ( row << 3 ) | col;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if the requested location is on the board.
+     *
+     * @param row
+     *            the row to check
+     * @param col
+     *            the column to check
+     * @return boolean true if the location is valid, false if not
+     */
+    public static boolean isOnBoard( int row, int col ){
+        return ( row >= 0 && row <= 7 && col >= 0 && col <= 7 );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the index used for the requested color in the mask arrays.
+     *
+     * @param color
+     *            the color, either BLACK or WHITE
+     * @return int the index of the color
+     */
+    static int colorIndex( PieceColorEnum color ){
+        if ( color == PieceColorEnum.UNASSIGNED ){
+            throw new IllegalArgumentException( "Pieces on the board must be "
+                + "either BLACK or WHITE." );
+        }
+        return color.ordinal();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the color playing against the requested color.
+     *
+     * @param color
+     *            the color, either BLACK or WHITE
+     * @return PieceColorEnum the other color
+     */
+    public static PieceColorEnum opponent( PieceColorEnum color ){
+        return color == PieceColorEnum.WHITE
+            ? PieceColorEnum.BLACK
+            : PieceColorEnum.WHITE;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the piece at row 'row' and column 'col'.
+     *
+     * @param row
+     *            the row to look at
+     * @param col
+     *            the column to look at
+     * @return ChessGamePiece the piece found, or null if the square is empty
+     *         or does not exist
+     */
+    public ChessGamePiece getPieceAt( int row, int col ){
+        if ( isOnBoard( row, col ) ){
+            return squares[square( row, col )];
+        }
+        return null;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if the square at row 'row' and column 'col' is empty.
+     *
+     * @param row
+     *            the row to look at
+     * @param col
+     *            the column to look at
+     * @return boolean true if the square exists and holds no piece
+     */
+    public boolean isEmpty( int row, int col ){
+        return isOnBoard( row, col )
+            && ( occupiedMask & ( 1L << square( row, col ) ) ) == 0;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if the square at row 'row' and column 'col' holds a piece of the
+     * requested color.
+     *
+     * @param row
+     *            the row to look at
+     * @param col
+     *            the column to look at
+     * @param color
+     *            the color to check for
+     * @return boolean true if a piece of that color is on the square
+     */
+    public boolean isOccupiedBy( int row, int col, PieceColorEnum color ){
+        if ( !isOnBoard( row, col ) || color == PieceColorEnum.UNASSIGNED ){
+            return false;
+        }
+        return ( colorMasks[color.ordinal()] & ( 1L << square( row, col ) ) )
+            != 0;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Puts a piece on the requested square, replacing anything that was
+     * there, and updates the piece's own location.
+     *
+     * @param piece
+     *            the piece to place
+     * @param row
+     *            the row to place it on
+     * @param col
+     *            the column to place it on
+     */
+    public void placePiece( ChessGamePiece piece, int row, int col ){
+        if ( !isOnBoard( row, col ) ){
+            throw new IllegalStateException( "Row " + row + " and column "
+                + col + " are invalid. This piece cannot be placed." );
+        }
+        colorIndex( piece.getColorOfPiece() ); // rejects UNASSIGNED pieces
+        int sq = square( row, col );
+        take( sq );
+        put( piece, sq );
+        updateSliderAttacks( 1L << sq );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Removes the piece on the requested square, if any.
+     *
+     * @param row
+     *            the row to clear
+     * @param col
+     *            the column to clear
+     * @return ChessGamePiece the piece that was removed, or null if the square
+     *         was already empty
+     */
+    public ChessGamePiece removePiece( int row, int col ){
+        if ( !isOnBoard( row, col ) ){
+            return null;
+        }
+        int sq = square( row, col );
+        ChessGamePiece piece = take( sq );
+        updateSliderAttacks( 1L << sq );
+        return piece;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Puts a piece on an empty square and updates the piece's own location
+     * and attacks. The sliding pieces whose rays pass the square must be
+     * updated afterwards with updateSliderAttacks.
+     *
+     * @param piece
+     *            the piece to place
+     * @param sq
+     *            the square index
+     */
+    private void put( ChessGamePiece piece, int sq ){
+        int color = piece.getColorOfPiece().ordinal();
+        long bit = 1L << sq;
+        pieceMasks[color][piece.getPieceType().ordinal()] |= bit;
+        colorMasks[color] |= bit;
+        occupiedMask |= bit;
+        squares[sq] = piece;
+        int slot = ( color << 6 ) + pieceCounts[color]++;
+        pieceLists[slot] = piece;
+        pieceListSquares[slot] = sq;
+        pieceListSlots[sq] = slot;
+        hash ^= Zobrist.piece( color, piece.getPieceType().ordinal(), sq );
+        piece.setPieceLocation( sq >> 3, sq & 7 );
+        setAttacks( sq, color,
+            computeAttacks( piece.getPieceType(), color, sq ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Takes the piece off a square, if any, along with its attacks. The
+     * sliding pieces whose rays pass the square must be updated afterwards
+     * with updateSliderAttacks. The piece keeps its old location.
+     *
+     * @param sq
+     *            the square index
+     * @return ChessGamePiece the piece that was taken, or null
+     */
+    private ChessGamePiece take( int sq ){
+        ChessGamePiece piece = squares[sq];
+        if ( piece != null ){
+            int color = piece.getColorOfPiece().ordinal();
+            setAttacks( sq, color, 0L );
+            long bit = ~( 1L << sq );
+            pieceMasks[color][piece.getPieceType().ordinal()] &= bit;
+            colorMasks[color] &= bit;
+            occupiedMask &= bit;
+            squares[sq] = null;
+            int slot = pieceListSlots[sq];
+            int last = ( color << 6 ) + --pieceCounts[color];
+            pieceLists[slot] = pieceLists[last];
+            pieceListSquares[slot] = pieceListSquares[last];
+            pieceListSlots[pieceListSquares[slot]] = slot;
+            pieceLists[last] = null;
+            hash ^= Zobrist.piece( color, piece.getPieceType().ordinal(), sq );
+        }
+        return piece;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Makes a move that can later be taken back with unmakeMove. The move
+     * must be one generated for this position; it is not checked.
+     *
+     * @param move
+     *            the packed move (see game.Move)
+     */
+    public void makeMove( int move ){
+        if ( undoCount == MAX_UNDO ){
+            throw new IllegalStateException( "Too many moves have been made. "
+                + "At most " + MAX_UNDO + " can be taken back." );
+        }
+        undoMoves[undoCount] = move;
+        undoStates[undoCount] = castlingRights
+            | ( ( enPassantSquare + 1 ) << 4 ) | ( halfmoveClock << 11 );
+        undoHashes[undoCount] = hash;
+        undoMoved[undoCount] = squares[Move.getFrom( move )];
+        undoCaptured[undoCount] = squares[capturedSquare( move )];
+        undoCount++;
+        doMove( move );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Takes back the last move made with makeMove.
+     */
+    public void unmakeMove(){
+        if ( undoCount == 0 ){
+            throw new IllegalStateException( "There is no move to take "
+                + "back." );
+        }
+        undoCount--;
+        int move = undoMoves[undoCount];
+        int from = Move.getFrom( move );
+        int to = Move.getTo( move );
+        // the moved piece, or what it was promoted to
+        ChessGamePiece moved = take( to );
+        if ( Move.isPromotion( move ) ){
+            releasePromoted( moved );
+        }
+        put( undoMoved[undoCount], from );
+        if ( Move.isCastle( move ) ){
+            int rookFrom = rookSquareBeforeCastling( to );
+            put( take( rookSquareAfterCastling( to ) ), rookFrom );
+        }
+        if ( undoCaptured[undoCount] != null ){
+            put( undoCaptured[undoCount], capturedSquare( move ) );
+        }
+        updateSliderAttacks( changedSquares( move ) );
+        undoMoved[undoCount] = null;
+        undoCaptured[undoCount] = null;
+        int state = undoStates[undoCount];
+        castlingRights = state & ALL_CASTLING;
+        enPassantSquare = ( ( state >> 4 ) & 127 ) - 1;
+        halfmoveClock = state >>> 11;
+        sideToMove = opponent( sideToMove );
+        if ( sideToMove == PieceColorEnum.BLACK ){
+            fullmoveNumber--;
+        }
+        hash = undoHashes[undoCount];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Makes a move for good, as when a player moves in the game. Captured
+     * pieces, and pawns that are promoted, are taken off the board with their
+     * location set to (-1, -1). The position before the move is remembered
+     * for isRepetition, until the next capture or pawn move.
+     * The move must be one generated for this position; it is not checked.
+     *
+     * @param move
+     *            the packed move (see game.Move)
+     */
+    public void commitMove( int move ){
+        if ( undoCount != 0 ){
+            throw new IllegalStateException( "A move cannot be committed while "
+                + "tried moves are still to be taken back." );
+        }
+        ChessGamePiece moved = squares[Move.getFrom( move )];
+        ChessGamePiece captured = squares[capturedSquare( move )];
+        long before = hash;
+        doMove( move );
+        if ( halfmoveClock == 0 ){
+            // no position before this move can come back
+            gameHashCount = 0;
+        }
+        else
+        {
+            if ( gameHashCount == gameHashes.length ){
+                gameHashes = Arrays.copyOf( gameHashes, gameHashCount * 2 );
+            }
+            gameHashes[gameHashCount++] = before;
+        }
+        if ( captured != null ){
+            captured.setPieceLocation( -1, -1 );
+        }
+        if ( Move.isPromotion( move ) ){
+            moved.setPieceLocation( -1, -1 );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Moves the pieces and updates the state for a move.
+     *
+     * @param move
+     *            the packed move
+     */
+    private void doMove( int move ){
+        int from = Move.getFrom( move );
+        int to = Move.getTo( move );
+        ChessGamePiece piece = take( from );
+        take( capturedSquare( move ) );
+        if ( Move.isPromotion( move ) ){
+            piece = promotedPiece( Move.getPromotion( move ),
+                piece.getColorOfPiece() );
+        }
+        put( piece, to );
+        if ( Move.isCastle( move ) ){
+            put( take( rookSquareBeforeCastling( to ) ),
+                rookSquareAfterCastling( to ) );
+        }
+        updateSliderAttacks( changedSquares( move ) );
+        int rights = castlingRights & CASTLING_MASK[from] & CASTLING_MASK[to];
+        // only a pawn that can be taken en passant leaves a square behind,
+        // so the same position always hashes the same
+        int epSquare = Move.isDoublePush( move ) && canBeTakenEnPassant( to )
+            ? ( from + to ) >> 1
+            : -1;
+        hash ^= Zobrist.castling( castlingRights ) ^ Zobrist.castling( rights )
+            ^ Zobrist.enPassant( enPassantSquare ) ^ Zobrist.enPassant( epSquare )
+            ^ Zobrist.SIDE;
+        castlingRights = rights;
+        enPassantSquare = epSquare;
+        halfmoveClock = Move.isCapture( move )
+            || Move.getPiece( move ) == PieceTypeEnum.PAWN
+            ? 0
+            : halfmoveClock + 1;
+        if ( sideToMove == PieceColorEnum.BLACK ){
+            fullmoveNumber++;
+        }
+        sideToMove = opponent( sideToMove );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets a piece for a pawn to be promoted to: one taken back from an
+     * earlier promotion if there is one, else a new one.
+     *
+     * @param type
+     *            the type to promote to
+     * @param color
+     *            the color of the pawn
+     * @return ChessGamePiece the piece, off the board
+     */
+    private ChessGamePiece promotedPiece( PieceTypeEnum type,
+        PieceColorEnum color ){
+        int pool = colorIndex( color ) * TYPE_COUNT + type.ordinal();
+        if ( promotionPoolSizes[pool] == 0 ){
+            return createPiece( type, color, -1, -1 );
+        }
+        int last = pool * MAX_PROMOTED + --promotionPoolSizes[pool];
+        ChessGamePiece piece = promotionPool[last];
+        promotionPool[last] = null;
+        return piece;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Keeps a piece whose promotion was taken back, to promote to again.
+     *
+     * @param piece
+     *            the piece, off the board
+     */
+    private void releasePromoted( ChessGamePiece piece ){
+        int pool = colorIndex( piece.getColorOfPiece() ) * TYPE_COUNT
+            + piece.getPieceType().ordinal();
+        if ( promotionPoolSizes[pool] < MAX_PROMOTED ){
+            piece.setPieceLocation( -1, -1 );
+            promotionPool[pool * MAX_PROMOTED + promotionPoolSizes[pool]++] =
+                piece;
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if a pawn that has just moved two squares stands beside an enemy
+     * pawn.
+     *
+     * @param sq
+     *            the square the pawn moved to
+     * @return boolean true if an enemy pawn could take it en passant
+     */
+    private boolean canBeTakenEnPassant( int sq ){
+        int enemy = 1 - squares[sq].getColorOfPiece().ordinal();
+        long beside = maskOf( sq >> 3, ( sq & 7 ) - 1 )
+            | maskOf( sq >> 3, ( sq & 7 ) + 1 );
+        return ( pieceMasks[enemy][PieceTypeEnum.PAWN.ordinal()] & beside ) != 0;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the square of the piece a move captures. This is the target
+     * square, except for en passant where the pawn taken is beside the
+     * moving pawn.
+     *
+     * @param move
+     *            the packed move
+     * @return int the square index
+     */
+    private static int capturedSquare( int move ){
+        if ( Move.isEnPassant( move ) ){
+            return ( Move.getFrom( move ) & ~7 ) | ( Move.getTo( move ) & 7 );
+        }
+        return Move.getTo( move );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the mask of every square whose occupancy a move changes.
+     *
+     * @param move
+     *            the packed move
+     * @return long the mask of changed squares
+     */
+    private static long changedSquares( int move ){
+        int to = Move.getTo( move );
+        long changed = ( 1L << Move.getFrom( move ) ) | ( 1L << to )
+            | ( 1L << capturedSquare( move ) );
+        if ( Move.isCastle( move ) ){
+            changed |= ( 1L << rookSquareBeforeCastling( to ) )
+                | ( 1L << rookSquareAfterCastling( to ) );
+        }
+        return changed;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the square the rook starts on when the king castles to 'kingTo'.
+     *
+     * @param kingTo
+     *            the square the king moves to
+     * @return int the square index
+     */
+    private static int rookSquareBeforeCastling( int kingTo ){
+        return ( kingTo & 7 ) == 6 ? kingTo + 1 : kingTo - 2;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the square the rook ends on when the king castles to 'kingTo'.
+     *
+     * @param kingTo
+     *            the square the king moves to
+     * @return int the square index
+     */
+    private static int rookSquareAfterCastling( int kingTo ){
+        return ( kingTo & 7 ) == 6 ? kingTo - 1 : kingTo + 1;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Creates a piece and places it on this position, unless the location is
+     * (-1, -1), as for the piece a pawn is promoted to.
+     *
+     * @param type
+     *            the type of the new piece
+     * @param color
+     *            the color of the new piece
+     * @param row
+     *            the row to place the piece on, or -1
+     * @param col
+     *            the column to place the piece on, or -1
+     * @return ChessGamePiece the new piece
+     */
+    ChessGamePiece createPiece( PieceTypeEnum type,
+        PieceColorEnum color, int row, int col ){
+        switch ( type ){
+            case PAWN:
+                return new Pawn( this, row, col, color );
+            case KNIGHT:
+                return new Knight( this, row, col, color );
+            case BISHOP:
+                return new Bishop( this, row, col, color );
+            case ROOK:
+                return new Rook( this, row, col, color );
+            case QUEEN:
+                return new Queen( this, row, col, color );
+            default:
+                return new King( this, row, col, color );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if the square at row 'row' and column 'col' is attacked by any
+     * piece of the requested color, whether or not that piece is pinned.
+     * This is a lookup in the attack counts, which are kept up to date as
+     * pieces are placed and removed.
+     *
+     * @param row
+     *            the row of the square
+     * @param col
+     *            the column of the square
+     * @param byColor
+     *            the color of the attacking pieces
+     * @return boolean true if the square is attacked
+     */
+    public boolean isSquareAttacked( int row, int col, PieceColorEnum byColor ){
+        return ( getAttackedSquares( byColor ) & ( 1L << square( row, col ) ) )
+            != 0;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the mask of squares attacked by any piece of the requested color.
+     *
+     * @param byColor
+     *            the color of the attacking pieces
+     * @return long the mask, one bit per attacked square
+     */
+    public long getAttackedSquares( PieceColorEnum byColor ){
+        long[] counts = attackCounts[colorIndex( byColor )];
+        long attacked = 0;
+        for ( int i = 0; i < COUNT_BITS; i++ ){
+            attacked |= counts[i];
+        }
+        return attacked;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of pieces of the requested color that attack the square
+     * at row 'row' and column 'col'.
+     *
+     * @param row
+     *            the row of the square
+     * @param col
+     *            the column of the square
+     * @param byColor
+     *            the color of the attacking pieces
+     * @return int the number of attackers
+     */
+    public int getAttackCount( int row, int col, PieceColorEnum byColor ){
+        long[] counts = attackCounts[colorIndex( byColor )];
+        int sq = square( row, col );
+        int count = 0;
+        for ( int i = 0; i < COUNT_BITS; i++ ){
+            count |= (int)( ( counts[i] >>> sq ) & 1 ) << i;
+        }
+        return count;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the mask of squares attacked by the piece on the requested square.
+     *
+     * @param row
+     *            the row of the piece
+     * @param col
+     *            the column of the piece
+     * @return long the mask, or 0 if the square is empty
+     */
+    public long getAttacks( int row, int col ){
+        return pieceAttacks[square( row, col )];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Replaces the attacks recorded for the piece on a square, adjusting the
+     * counts of only the squares that changed. The counts of all those
+     * squares are stepped at once, with the carry (or borrow) of each bit
+     * rippling into the next mask.
+     *
+     * @param sq
+     *            the square of the piece
+     * @param color
+     *            the color index of the piece
+     * @param attacks
+     *            the new mask of attacked squares
+     */
+    private void setAttacks( int sq, int color, long attacks ){
+        long[] counts = attackCounts[color];
+        long old = pieceAttacks[sq];
+        long borrow = old & ~attacks;
+        for ( int i = 0; borrow != 0; i++ ){
+            long next = ~counts[i] & borrow;
+            counts[i] ^= borrow;
+            borrow = next;
+        }
+        long carry = attacks & ~old;
+        for ( int i = 0; carry != 0; i++ ){
+            long next = counts[i] & carry;
+            counts[i] ^= carry;
+            carry = next;
+        }
+        pieceAttacks[sq] = attacks;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Recomputes the attacks of every sliding piece that attacks a square
+     * whose occupancy has just changed, since its rays now stop earlier or
+     * reach further. Pawns, knights and kings are not affected. Attacks
+     * recorded part way through a move can only be wrong on squares that
+     * changed later in it, so one pass at the end of the move is enough.
+     *
+     * @param changed
+     *            the mask of squares that changed
+     */
+    private void updateSliderAttacks( long changed ){
+        for ( int color = 0; color < 2; color++ ){
+            long[] masks = pieceMasks[color];
+            long sliders = masks[PieceTypeEnum.BISHOP.ordinal()]
+                | masks[PieceTypeEnum.ROOK.ordinal()]
+                | masks[PieceTypeEnum.QUEEN.ordinal()];
+            while ( sliders != 0 ){
+                int from = Long.numberOfTrailingZeros( sliders );
+                sliders &= sliders - 1;
+                if ( ( pieceAttacks[from] & changed ) != 0 ){
+                    setAttacks( from, color, computeAttacks(
+                        squares[from].getPieceType(), color, from ) );
+                }
+            }
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Computes the squares a piece attacks from a square on the current
+     * board. Sliding pieces attack up to and including the first piece in
+     * each direction.
+     *
+     * @param type
+     *            the type of the piece
+     * @param color
+     *            the color index of the piece
+     * @param sq
+     *            the square of the piece
+     * @return long the mask of attacked squares
+     */
+    private long computeAttacks( PieceTypeEnum type, int color, int sq ){
+        switch ( type ){
+            case PAWN:
+                return Attacks.pawn( color, sq );
+            case KNIGHT:
+                return Attacks.knight( sq );
+            case KING:
+                return Attacks.king( sq );
+            case BISHOP:
+                return Attacks.bishop( sq, occupiedMask );
+            case ROOK:
+                return Attacks.rook( sq, occupiedMask );
+            default:
+                return Attacks.queen( sq, occupiedMask );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the mask of a single square.
+     *
+     * @param row
+     *            the row of the square, which may be off the board
+     * @param col
+     *            the column of the square, which may be off the board
+     * @return long the mask, or 0 if the square is off the board
+     */
+    private static long maskOf( int row, int col ){
+        return isOnBoard( row, col ) ? 1L << square( row, col ) : 0L;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if the king of the requested color is attacked.
+     *
+     * @param color
+     *            the color of the king
+     * @return boolean true if the king is in check, false if not or if there
+     *         is no king of that color
+     */
+    public boolean isInCheck( PieceColorEnum color ){
+        long king = getPieces( color, PieceTypeEnum.KING );
+        if ( king == 0 ){
+            return false;
+        }
+        int sq = Long.numberOfTrailingZeros( king );
+        return isSquareAttacked( sq >> 3, sq & 7, opponent( color ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds the legal moves of every piece of the side to move to a list.
+     * The pieces that check the king and the pieces pinned to it are found
+     * once, and every piece's possible moves are then kept or dropped by a
+     * mask lookup, without trying them on the board (see addLegalMoves). In
+     * double check only the king is asked for moves.
+     *
+     * @param moves
+     *            the list to add the moves to
+     */
+    public void generateLegalMoves( MoveList moves ){
+        int color = colorIndex( sideToMove );
+        findChecksAndPins( color );
+        long pieces = legalTargets == 0
+            ? pieceMasks[color][PieceTypeEnum.KING.ordinal()]
+            : colorMasks[color];
+        while ( pieces != 0 ){
+            addCheckedMoves( squares[Long.numberOfTrailingZeros( pieces )],
+                moves );
+            pieces &= pieces - 1;
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds the legal moves of one piece to a list, whether or not it is its
+     * side's turn.
+     *
+     * @param piece
+     *            the piece, which must be on this position
+     * @param moves
+     *            the list to add the moves to
+     */
+    public void addLegalMoves( ChessGamePiece piece, MoveList moves ){
+        if ( !piece.isPieceOnScreen()
+            || squares[square( piece.getRow(), piece.getColumn() )] != piece ){
+            return;
+        }
+        findChecksAndPins( colorIndex( piece.getColorOfPiece() ) );
+        addCheckedMoves( piece, moves );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if one side has a legal move, whether or not it is its turn.
+     *
+     * @param color
+     *            the side to check
+     * @return boolean true if it has at least one legal move
+     */
+    public boolean hasLegalMoves( PieceColorEnum color ){
+        int index = colorIndex( color );
+        findChecksAndPins( index );
+        long pieces = colorMasks[index];
+        while ( pieces != 0 ){
+            legalMoves.clear();
+            addCheckedMoves( squares[Long.numberOfTrailingZeros( pieces )],
+                legalMoves );
+            if ( !legalMoves.isEmpty() ){
+                return true;
+            }
+            pieces &= pieces - 1;
+        }
+        return false;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Finds the pieces checking the king of one side and the pieces pinned
+     * to it, and from those the squares its other pieces may move to: any
+     * square when not in check, the checker or a square blocking it in
+     * single check, none in double check.
+     *
+     * @param color
+     *            the color index of the side
+     */
+    private void findChecksAndPins( int color ){
+        long king = pieceMasks[color][PieceTypeEnum.KING.ordinal()];
+        legalPinned = 0;
+        if ( king == 0 ){
+            // without a king every possible move is legal
+            legalKing = -1;
+            legalCheckers = 0;
+            legalTargets = -1L;
+            return;
+        }
+        int enemy = color ^ 1;
+        legalKing = Long.numberOfTrailingZeros( king );
+        legalCheckers = attackersOf( legalKing, enemy, occupiedMask );
+        // enemy sliders that would attack the king through our own pieces
+        long[] enemies = pieceMasks[enemy];
+        long queens = enemies[PieceTypeEnum.QUEEN.ordinal()];
+        long snipers = ( Attacks.rook( legalKing, colorMasks[enemy] )
+            & ( enemies[PieceTypeEnum.ROOK.ordinal()] | queens ) )
+            | ( Attacks.bishop( legalKing, colorMasks[enemy] )
+                & ( enemies[PieceTypeEnum.BISHOP.ordinal()] | queens ) );
+        while ( snipers != 0 ){
+            long blockers = Attacks.between( legalKing,
+                Long.numberOfTrailingZeros( snipers ) ) & occupiedMask;
+            if ( Long.bitCount( blockers ) == 1
+                && ( blockers & colorMasks[color] ) != 0 ){
+                legalPinned |= blockers;
+            }
+            snipers &= snipers - 1;
+        }
+        if ( legalCheckers == 0 ){
+            legalTargets = -1L;
+        }
+        else if ( Long.bitCount( legalCheckers ) == 1 ){
+            legalTargets = legalCheckers | Attacks.between( legalKing,
+                Long.numberOfTrailingZeros( legalCheckers ) );
+        }
+        else
+        {
+            legalTargets = 0;
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds the legal moves of a piece to a list, using the checks and pins
+     * found last by findChecksAndPins for its side. A king may move to any
+     * square the enemy does not attack once the king itself is off the
+     * board; a pinned piece only along its pin; in check, other pieces only
+     * to the squares that capture or block the checker. En passant, which
+     * takes a piece from a square it does not move to, is tried on the board.
+     *
+     * @param piece
+     *            the piece
+     * @param moves
+     *            the list to add the moves to
+     */
+    private void addCheckedMoves( ChessGamePiece piece, MoveList moves ){
+        int sq = square( piece.getRow(), piece.getColumn() );
+        int color = colorIndex( piece.getColorOfPiece() );
+        pseudoLegalMoves.clear();
+        piece.calculatePossibleMoves( this, pseudoLegalMoves );
+        if ( sq == legalKing ){
+            long withoutKing = occupiedMask & ~( 1L << sq );
+            for ( int i = 0; i < pseudoLegalMoves.size(); i++ ){
+                int move = pseudoLegalMoves.get( i );
+                if ( attackersOf( Move.getTo( move ), color ^ 1,
+                    withoutKing ) == 0 ){
+                    moves.add( move );
+                }
+            }
+            return;
+        }
+        long allowed = legalTargets;
+        if ( ( legalPinned & ( 1L << sq ) ) != 0 ){
+            allowed &= Attacks.line( legalKing, sq );
+        }
+        for ( int i = 0; i < pseudoLegalMoves.size(); i++ ){
+            int move = pseudoLegalMoves.get( i );
+            if ( Move.isEnPassant( move )
+                ? isLegalByTrying( move, piece.getColorOfPiece() )
+                : ( allowed & ( 1L << Move.getTo( move ) ) ) != 0 ){
+                moves.add( move );
+            }
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks a move by making it and seeing if it leaves its own king in
+     * check.
+     *
+     * @param move
+     *            the packed move
+     * @param color
+     *            the color of the moving piece
+     * @return boolean true if the king is safe after the move
+     */
+    private boolean isLegalByTrying( int move, PieceColorEnum color ){
+        makeMove( move );
+        boolean legal = !isInCheck( color );
+        unmakeMove();
+        return legal;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Finds the pieces of one color that attack a square, with the board
+     * occupied as requested rather than as it is.
+     *
+     * @param sq
+     *            the square
+     * @param byColor
+     *            the color index of the attackers
+     * @param occupancy
+     *            the mask of pieces that block sliders
+     * @return long the mask of attacking pieces
+     */
+    private long attackersOf( int sq, int byColor, long occupancy ){
+        long[] masks = pieceMasks[byColor];
+        long queens = masks[PieceTypeEnum.QUEEN.ordinal()];
+        // a pawn attacks the square if a pawn of the other color there would
+        // attack the pawn
+        return ( Attacks.pawn( byColor ^ 1, sq )
+            & masks[PieceTypeEnum.PAWN.ordinal()] )
+            | ( Attacks.knight( sq ) & masks[PieceTypeEnum.KNIGHT.ordinal()] )
+            | ( Attacks.king( sq ) & masks[PieceTypeEnum.KING.ordinal()] )
+            | ( Attacks.bishop( sq, occupancy )
+                & ( masks[PieceTypeEnum.BISHOP.ordinal()] | queens ) )
+            | ( Attacks.rook( sq, occupancy )
+                & ( masks[PieceTypeEnum.ROOK.ordinal()] | queens ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Removes every piece from the position and gives the move to white, with
+     * the move counters back at the start of a game.
+     */
+    public void clear(){
+        for ( long[] masks : pieceMasks ){
+            Arrays.fill( masks, 0L );
+        }
+        colorMasks[0] = 0L;
+        colorMasks[1] = 0L;
+        occupiedMask = 0L;
+        Arrays.fill( squares, null );
+        Arrays.fill( pieceLists, null );
+        pieceCounts[0] = 0;
+        pieceCounts[1] = 0;
+        Arrays.fill( attackCounts[0], 0L );
+        Arrays.fill( attackCounts[1], 0L );
+        Arrays.fill( pieceAttacks, 0L );
+        sideToMove = PieceColorEnum.WHITE;
+        castlingRights = 0;
+        enPassantSquare = -1;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+        hash = 0L;
+        Arrays.fill( undoMoved, null );
+        Arrays.fill( undoCaptured, null );
+        undoCount = 0;
+        gameHashCount = 0;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Creates an independent copy of this position, with new pieces on the
+     * same squares and the same side to move, castling rights, en passant
+     * square, move counters and positions of the game kept for
+     * isRepetition. A copy can be searched by another thread while this
+     * position is played on.
+     *
+     * @return ChessPosition the copy
+     */
+    public ChessPosition copy(){
+        if ( undoCount != 0 ){
+            throw new IllegalStateException( "A position cannot be copied "
+                + "while tried moves are still to be taken back." );
+        }
+        ChessPosition copy = new ChessPosition();
+        for ( int sq = 0; sq < 64; sq++ ){
+            ChessGamePiece piece = squares[sq];
+            if ( piece != null ){
+                copy.createPiece( piece.getPieceType(), piece.getColorOfPiece(),
+                    sq >> 3, sq & 7 );
+            }
+        }
+        copy.setSideToMove( sideToMove );
+        copy.setCastlingRights( castlingRights );
+        copy.setEnPassantSquare( enPassantSquare );
+        copy.halfmoveClock = halfmoveClock;
+        copy.fullmoveNumber = fullmoveNumber;
+        copy.gameHashes = Arrays.copyOf( gameHashes, gameHashes.length );
+        copy.gameHashCount = gameHashCount;
+        return copy;
+    }
+    // ----------------------------------------------------------
+    /**
+     * (Re)initializes this game.ChessPosition to its default layout with all
+     * 32 pieces added.
+     */
+    public void initializeBoard(){
+        Fen.load( this, Fen.START_POSITION );
+    }
+
+    // ----------------------------------------------------------
+    /**
+     * Gets the mask of all pieces of one type and color.
+     *
+     * @param color
+     *            the color of the pieces
+     * @param type
+     *            the type of the pieces
+     * @return long the mask, one bit per occupied square
+     */
+    public long getPieces( PieceColorEnum color, PieceTypeEnum type ){
+        return pieceMasks[colorIndex( color )][type.ordinal()];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the mask of all pieces of one color.
+     *
+     * @param color
+     *            the color of the pieces
+     * @return long the mask, one bit per occupied square
+     */
+    public long getOccupancy( PieceColorEnum color ){
+        return colorMasks[colorIndex( color )];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the mask of every occupied square.
+     *
+     * @return long the mask, one bit per occupied square
+     */
+    public long getOccupancy(){
+        return occupiedMask;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the king of the requested color.
+     *
+     * @param color
+     *            the color of the king
+     * @return King the king, or null if there is none on the board
+     */
+    public King getKing( PieceColorEnum color ){
+        long kings = getPieces( color, PieceTypeEnum.KING );
+        if ( kings == 0 ){
+            return null;
+        }
+        return (King)squares[Long.numberOfTrailingZeros( kings )];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets all the pieces of the requested color on the board, in no
+     * particular order. The list is a read-only view that follows the
+     * position, so getting it allocates nothing; iterate it by index to keep
+     * it that way, and do not make or unmake moves while iterating it.
+     *
+     * @param color
+     *            the color of the pieces
+     * @return List<GamePiece> the pieces
+     */
+    public List<ChessGamePiece> getAllPieces( PieceColorEnum color ){
+        return pieceViews[colorIndex( color )];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of pieces of the requested color on the board.
+     *
+     * @param color
+     *            the color of the pieces
+     * @return int the number of pieces, king included
+     */
+    public int getPieceCount( PieceColorEnum color ){
+        return pieceCounts[colorIndex( color )];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the color whose turn it is.
+     *
+     * @return PieceColorEnum the side to move
+     */
+    public PieceColorEnum getSideToMove(){
+        return sideToMove;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sets the color whose turn it is.
+     *
+     * @param sideToMove
+     *            the side to move
+     */
+    public void setSideToMove( PieceColorEnum sideToMove ){
+        if ( sideToMove != this.sideToMove ){
+            hash ^= Zobrist.SIDE;
+        }
+        this.sideToMove = sideToMove;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the castling rights that are left.
+     *
+     * @return int any combination of WHITE_KINGSIDE, WHITE_QUEENSIDE,
+     *         BLACK_KINGSIDE and BLACK_QUEENSIDE
+     */
+    public int getCastlingRights(){
+        return castlingRights;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sets the castling rights that are left.
+     *
+     * @param castlingRights
+     *            any combination of WHITE_KINGSIDE, WHITE_QUEENSIDE,
+     *            BLACK_KINGSIDE and BLACK_QUEENSIDE
+     */
+    public void setCastlingRights( int castlingRights ){
+        hash ^= Zobrist.castling( this.castlingRights )
+            ^ Zobrist.castling( castlingRights & ALL_CASTLING );
+        this.castlingRights = castlingRights & ALL_CASTLING;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if a castling right is left.
+     *
+     * @param right
+     *            one of WHITE_KINGSIDE, WHITE_QUEENSIDE, BLACK_KINGSIDE or
+     *            BLACK_QUEENSIDE
+     * @return boolean true if that side may still castle that way
+     */
+    public boolean hasCastlingRight( int right ){
+        return ( castlingRights & right ) != 0;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the square a pawn may be taken on en passant, i.e. the square a
+     * pawn skipped with its double push on the last move.
+     *
+     * @return int the square index, or -1 if there is none
+     */
+    public int getEnPassantSquare(){
+        return enPassantSquare;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sets the square a pawn may be taken on en passant.
+     *
+     * @param enPassantSquare
+     *            the square index, or -1 if there is none
+     */
+    public void setEnPassantSquare( int enPassantSquare ){
+        hash ^= Zobrist.enPassant( this.enPassantSquare )
+            ^ Zobrist.enPassant( enPassantSquare );
+        this.enPassantSquare = enPassantSquare;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of moves since the last capture or pawn move, for the
+     * fifty-move rule.
+     *
+     * @return int the number of half moves
+     */
+    public int getHalfmoveClock(){
+        return halfmoveClock;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sets the number of moves since the last capture or pawn move.
+     *
+     * @param halfmoveClock
+     *            the number of half moves, 0 or more
+     */
+    public void setHalfmoveClock( int halfmoveClock ){
+        if ( halfmoveClock < 0 || halfmoveClock > MAX_HALFMOVE_CLOCK ){
+            throw new IllegalArgumentException( "Not a halfmove clock: "
+                + halfmoveClock );
+        }
+        this.halfmoveClock = halfmoveClock;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of the move being played. It starts at 1 and goes up
+     * after each move of black.
+     *
+     * @return int the move number
+     */
+    public int getFullmoveNumber(){
+        return fullmoveNumber;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sets the number of the move being played.
+     *
+     * @param fullmoveNumber
+     *            the move number, 1 or more
+     */
+    public void setFullmoveNumber( int fullmoveNumber ){
+        if ( fullmoveNumber < 1 ){
+            throw new IllegalArgumentException( "Not a move number: "
+                + fullmoveNumber );
+        }
+        this.fullmoveNumber = fullmoveNumber;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the 64-bit Zobrist hash of this position (see game.Zobrist). It is
+     * kept up to date by XOR as pieces are placed, moved and removed and as
+     * the side to move, castling rights and en passant square change.
+     *
+     * @return long the hash
+     */
+    public long getHash(){
+        return hash;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Computes the Zobrist hash of this position from scratch. It always
+     * equals getHash(); this is for checking the incremental updates.
+     *
+     * @return long the hash
+     */
+    public long computeHash(){
+        long computed = 0L;
+        for ( int sq = 0; sq < 64; sq++ ){
+            ChessGamePiece piece = squares[sq];
+            if ( piece != null ){
+                computed ^= Zobrist.piece( piece.getColorOfPiece().ordinal(),
+                    piece.getPieceType().ordinal(), sq );
+            }
+        }
+        if ( sideToMove == PieceColorEnum.BLACK ){
+            computed ^= Zobrist.SIDE;
+        }
+        return computed ^ Zobrist.castling( castlingRights )
+            ^ Zobrist.enPassant( enPassantSquare );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if this position has occurred before, among the moves that can
+     * still be taken back and then the moves committed in the game. Only
+     * moves since the last capture or pawn move are looked at, since no
+     * position before one of those can come back.
+     *
+     * @return boolean true if the position is a repetition
+     */
+    public boolean isRepetition(){
+        for ( int i = undoCount - 1; i >= 0; i-- ){
+            int move = undoMoves[i];
+            if ( Move.isCapture( move )
+                || Move.getPiece( move ) == PieceTypeEnum.PAWN ){
+                return false;
+            }
+            if ( undoHashes[i] == hash ){
+                return true;
+            }
+        }
+        for ( int i = gameHashCount - 1; i >= 0; i-- ){
+            if ( gameHashes[i] == hash ){
+                return true;
+            }
+        }
+        return false;
+    }
+    // -------------------------------------------------------------------------
+    /**
+     * The read-only list of the pieces of one color, backed by the piece list
+     * of the position.
+     */
+    private final class PieceList extends AbstractList<ChessGamePiece>
+        implements RandomAccess, Serializable {
+        private final int offset;
+        // ----------------------------------------------------------
+        /**
+         * Create a new PieceList.
+         *
+         * @param colorIndex
+         *            the ordinal of the color of the pieces
+         */
+        private PieceList( int colorIndex ){
+            this.offset = colorIndex << 6;
+        }
+        // ----------------------------------------------------------
+        /**
+         * Gets a piece of the list.
+         *
+         * @param index
+         *            the index of the piece
+         * @return ChessGamePiece the piece
+         */
+        @Override
+        public ChessGamePiece get( int index ){
+            if ( index < 0 || index >= size() ){
+                throw new IndexOutOfBoundsException( "Index " + index
+                    + " is out of a list of " + size() + " pieces." );
+            }
+            return pieceLists[offset + index];
+        }
+        // ----------------------------------------------------------
+        /**
+         * Gets the number of pieces in the list.
+         *
+         * @return int the number of pieces
+         */
+        @Override
+        public int size(){
+            return pieceCounts[offset >> 6];
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package org.game.chess;
+
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * Forsyth-Edwards Notation: a whole position on one line, e.g. the start
+ * position "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1". The
+ * six fields are the board from the eighth rank down, the side to move, the
+ * castling rights, the en passant square, the halfmove clock and the move
+ * number.
+ * <p>
+ * Loading only touches game.ChessPosition, so positions can be set up where
+ * there is no display.
+ */
+public final class Fen {
+    /**
+     * The starting position of a game.
+     */
+    public static final String START_POSITION =
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final String          PIECE_LETTERS  = "pnbrqk";
+    private static final String          CASTLING_FLAGS = "KQkq";
+    private static final int[]           CASTLING       =
+        { ChessPosition.WHITE_KINGSIDE, ChessPosition.WHITE_QUEENSIDE,
+          ChessPosition.BLACK_KINGSIDE, ChessPosition.BLACK_QUEENSIDE };
+    // the king and rook squares each castling right needs
+    private static final int[]           KING_SQUARES   = { 60, 60, 4, 4 };
+    private static final int[]           ROOK_SQUARES   = { 63, 56, 7, 0 };
+    private static final PieceTypeEnum[] TYPES          =
+        PieceTypeEnum.values();
+    // ----------------------------------------------------------
+    /**
+     * Not meant to be instantiated.
+     */
+    private Fen(){
+        // static helpers only
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sets up a new position from a FEN string.
+     *
+     * @param fen
+     *            the position in FEN
+     * @return ChessPosition the new position
+     * @throws IllegalArgumentException
+     *             if the string is not a valid FEN position
+     */
+    public static ChessPosition load( String fen ){
+        ChessPosition position = new ChessPosition();
+        load( position, fen );
+        return position;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Replaces the contents of a position with a FEN string. The move
+     * counters may be left out, as in EPD, and then start a game afresh.
+     * Castling rights whose king or rook is not at home are dropped, as is
+     * an en passant square no pawn can take on, so the position hashes the
+     * same as when it is reached by playing moves.
+     *
+     * @param position
+     *            the position to set up
+     * @param fen
+     *            the position in FEN
+     * @throws IllegalArgumentException
+     *             if the string is not a valid FEN position; the position is
+     *             then left empty
+     */
+    public static void load( ChessPosition position, String fen ){
+        String[] fields = fen.trim().split( "\\s+" );
+        if ( fields.length != 4 && fields.length != 6 ){
+            throw invalid( fen, "it needs 4 or 6 fields" );
+        }
+        position.clear();
+        try {
+            loadBoard( position, fields[0], fen );
+            if ( !"w".equals( fields[1] ) && !"b".equals( fields[1] ) ){
+                throw invalid( fen, "the side to move is not w or b" );
+            }
+            position.setSideToMove( "w".equals( fields[1] )
+                ? PieceColorEnum.WHITE
+                : PieceColorEnum.BLACK );
+            position.setCastlingRights( parseCastling( position, fields[2],
+                fen ) );
+            position.setEnPassantSquare( parseEnPassant( position, fields[3],
+                fen ) );
+            if ( fields.length == 6 ){
+                position.setHalfmoveClock( parseNumber( fields[4], fen ) );
+                position.setFullmoveNumber( parseNumber( fields[5], fen ) );
+            }
+            if ( position.isInCheck(
+                ChessPosition.opponent( position.getSideToMove() ) ) ){
+                throw invalid( fen, "the side not to move is in check" );
+            }
+        }
+        catch ( IllegalArgumentException e ){
+            position.clear();
+            throw e;
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Places the pieces of the board field.
+     *
+     * @param position
+     *            the empty position to place them on
+     * @param board
+     *            the board field, ranks from 8 to 1 separated by '/'
+     * @param fen
+     *            the whole FEN, for error messages
+     */
+    private static void loadBoard( ChessPosition position, String board,
+        String fen ){
+        int row = 0;
+        int col = 0;
+        for ( int i = 0; i < board.length(); i++ ){
+            char c = board.charAt( i );
+            if ( c == '/' ){
+                if ( col != 8 || row == 7 ){
+                    throw invalid( fen, "rank " + ( 8 - row )
+                        + " does not have 8 squares" );
+                }
+                row++;
+                col = 0;
+            }
+            else if ( c >= '1' && c <= '8' ){
+                col += c - '0';
+            }
+            else
+            {
+                int type = PIECE_LETTERS.indexOf( Character.toLowerCase( c ) );
+                if ( type < 0 || col > 7 ){
+                    throw invalid( fen, "'" + c + "' is not a piece on "
+                        + "the board" );
+                }
+                if ( type == 0 && ( row == 0 || row == 7 ) ){
+                    throw invalid( fen, "a pawn is on the first or last "
+                        + "rank" );
+                }
+                position.createPiece( TYPES[type], Character.isUpperCase( c )
+                    ? PieceColorEnum.WHITE
+                    : PieceColorEnum.BLACK, row, col );
+                col++;
+            }
+        }
+        if ( row != 7 || col != 8 ){
+            throw invalid( fen, "the board does not have 8 ranks of 8 "
+                + "squares" );
+        }
+        if ( Long.bitCount( position.getPieces( PieceColorEnum.WHITE,
+                PieceTypeEnum.KING ) ) != 1
+            || Long.bitCount( position.getPieces( PieceColorEnum.BLACK,
+                PieceTypeEnum.KING ) ) != 1 ){
+            throw invalid( fen, "each side needs exactly one king" );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Reads the castling field.
+     *
+     * @param position
+     *            the position, with its pieces placed
+     * @param field
+     *            "-" or any of "KQkq"
+     * @param fen
+     *            the whole FEN, for error messages
+     * @return int the castling rights whose king and rook are at home
+     */
+    private static int parseCastling( ChessPosition position, String field,
+        String fen ){
+        if ( "-".equals( field ) ){
+            return 0;
+        }
+        int rights = 0;
+        for ( int i = 0; i < field.length(); i++ ){
+            int flag = CASTLING_FLAGS.indexOf( field.charAt( i ) );
+            if ( flag < 0 ){
+                throw invalid( fen, "'" + field + "' are not castling "
+                    + "rights" );
+            }
+            PieceColorEnum color = flag < 2
+                ? PieceColorEnum.WHITE
+                : PieceColorEnum.BLACK;
+            if ( isAt( position, KING_SQUARES[flag], PieceTypeEnum.KING, color )
+                && isAt( position, ROOK_SQUARES[flag], PieceTypeEnum.ROOK,
+                    color ) ){
+                rights |= CASTLING[flag];
+            }
+        }
+        return rights;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if a piece of a type and color stands on a square.
+     *
+     * @param position
+     *            the position
+     * @param sq
+     *            the square index
+     * @param type
+     *            the piece type
+     * @param color
+     *            the piece color
+     * @return boolean true if it does
+     */
+    private static boolean isAt( ChessPosition position, int sq,
+        PieceTypeEnum type, PieceColorEnum color ){
+        ChessGamePiece piece = position.getPieceAt( sq >> 3, sq & 7 );
+        return piece != null && piece.getPieceType() == type
+            && piece.getColorOfPiece() == color;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Reads the en passant field.
+     *
+     * @param position
+     *            the position, with its pieces placed and side to move set
+     * @param field
+     *            "-" or the square behind the pawn that moved two squares
+     * @param fen
+     *            the whole FEN, for error messages
+     * @return int the square index, or -1 if there is none or no pawn of
+     *         the side to move can take on it
+     * @throws IllegalArgumentException
+     *             if no enemy pawn can just have moved two squares past it
+     */
+    private static int parseEnPassant( ChessPosition position, String field,
+        String fen ){
+        if ( "-".equals( field ) ){
+            return -1;
+        }
+        PieceColorEnum side = position.getSideToMove();
+        int row = side == PieceColorEnum.WHITE ? 2 : 5;
+        if ( field.length() != 2 || field.charAt( 0 ) < 'a'
+            || field.charAt( 0 ) > 'h' || '8' - field.charAt( 1 ) != row ){
+            throw invalid( fen, "'" + field + "' is not an en passant "
+                + "square" );
+        }
+        int col = field.charAt( 0 ) - 'a';
+        int pawnRow = side == PieceColorEnum.WHITE ? 3 : 4;
+        int startRow = side == PieceColorEnum.WHITE ? 1 : 6;
+        if ( !position.isEmpty( row, col ) || !position.isEmpty( startRow, col )
+            || !isAt( position, ChessPosition.square( pawnRow, col ),
+                PieceTypeEnum.PAWN, ChessPosition.opponent( side ) ) ){
+            throw invalid( fen, "no pawn can just have moved past the en "
+                + "passant square " + field );
+        }
+        for ( int c = col - 1; c <= col + 1; c += 2 ){
+            if ( c >= 0 && c < 8 && isAt( position, ChessPosition.square(
+                pawnRow, c ), PieceTypeEnum.PAWN, side ) ){
+                return ChessPosition.square( row, col );
+            }
+        }
+        return -1;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Reads a move counter.
+     *
+     * @param field
+     *            the counter field
+     * @param fen
+     *            the whole FEN, for error messages
+     * @return int the counter
+     */
+    private static int parseNumber( String field, String fen ){
+        try {
+            return Integer.parseInt( field );
+        }
+        catch ( NumberFormatException e ){
+            throw invalid( fen, "'" + field + "' is not a move counter" );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Creates the exception for a string that is not a valid FEN position.
+     *
+     * @param fen
+     *            the string
+     * @param reason
+     *            what is wrong with it
+     * @return IllegalArgumentException the exception to throw
+     */
+    private static IllegalArgumentException invalid( String fen,
+        String reason ){
+        return new IllegalArgumentException( "Not a valid FEN position, "
+            + reason + ": " + fen );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Writes a position in FEN, with all six fields.
+     *
+     * @param position
+     *            the position
+     * @return String the position in FEN
+     */
+    public static String toString( ChessPosition position ){
+        StringBuilder fen = new StringBuilder( 90 );
+        for ( int row = 0; row < 8; row++ ){
+            int empty = 0;
+            for ( int col = 0; col < 8; col++ ){
+                ChessGamePiece piece = position.getPieceAt( row, col );
+                if ( piece == null ){
+                    empty++;
+                    continue;
+                }
+                if ( empty > 0 ){
+                    fen.append( empty );
+                    empty = 0;
+                }
+                char letter = San.getLetter( piece.getPieceType() );
+                fen.append( piece.getColorOfPiece() == PieceColorEnum.WHITE
+                    ? letter
+                    : Character.toLowerCase( letter ) );
+            }
+            if ( empty > 0 ){
+                fen.append( empty );
+            }
+            if ( row < 7 ){
+                fen.append( '/' );
+            }
+        }
+        fen.append( position.getSideToMove() == PieceColorEnum.WHITE
+            ? " w "
+            : " b " );
+        int length = fen.length();
+        for ( int flag = 0; flag < CASTLING.length; flag++ ){
+            if ( position.hasCastlingRight( CASTLING[flag] ) ){
+                fen.append( CASTLING_FLAGS.charAt( flag ) );
+            }
+        }
+        if ( fen.length() == length ){
+            fen.append( '-' );
+        }
+        int epSquare = position.getEnPassantSquare();
+        fen.append( ' ' ).append( epSquare < 0
+            ? "-"
+            : Move.squareToString( epSquare ) );
+        fen.append( ' ' ).append( position.getHalfmoveClock() )
+            .append( ' ' ).append( position.getFullmoveNumber() );
+        return fen.toString();
+    }
+}
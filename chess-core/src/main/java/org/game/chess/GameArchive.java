@@ -0,0 +1,269 @@
+package org.game.chess;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+// -------------------------------------------------------------------------
+/**
+ * A binary archive of games, read through memory-mapped buffers, so any game
+ * can be fetched without reading the ones before it. Archives are written,
+ * and added to, with game.GameArchiveWriter.
+ * <p>
+ * The file starts with a header: the magic number, the format version, the
+ * offset of the index and the number of games. The index, at the end of the
+ * file so that adding games only rewrites it, holds for each game the offset
+ * of its moves and the offset of its tags. The moves of a game are the FEN
+ * of its start (empty for the standard start), the number of moves, and one
+ * byte per move: its index in the legal moves of the position, sorted by
+ * packed value (see game.MoveList.sort). The tags of the games written
+ * together are kept apart from their moves, in a table after them, as a
+ * count and then name and value pairs. Strings are UTF-8 with an unsigned
+ * 16-bit length and all numbers are big-endian.
+ * <p>
+ * Reads do not change any shared state, so an archive can be read by many
+ * threads at once.
+ */
+public class GameArchive implements Closeable {
+    /**
+     * The first four bytes of an archive, "CHGA".
+     */
+    static final int MAGIC             = 0x43484741;
+    /**
+     * The version of the format.
+     */
+    static final int VERSION           = 1;
+    /**
+     * The size of the header.
+     */
+    static final int HEADER_BYTES      = 20;
+    /**
+     * The size of the index entry of a game.
+     */
+    static final int INDEX_ENTRY_BYTES = 16;
+    /**
+     * The most bytes the moves, or the tags, of one game may take.
+     */
+    static final int MAX_RECORD_BYTES  = 1 << 17;
+
+    // each mapping reaches MAX_RECORD_BYTES into the next, so any record can
+    // be read from the mapping it starts in
+    private static final long SEGMENT_BYTES = 1L << 30;
+
+    private final FileChannel        channel;
+    private final MappedByteBuffer[] segments;
+    private final long               indexOffset;
+    private final int                gameCount;
+    // ----------------------------------------------------------
+    /**
+     * Opens an archive for reading.
+     *
+     * @param file
+     *            the archive file
+     * @throws IOException
+     *             if the file cannot be read or is not an archive
+     */
+    public GameArchive( Path file ) throws IOException{
+        channel = FileChannel.open( file, StandardOpenOption.READ );
+        try {
+            long size = channel.size();
+            segments = new MappedByteBuffer[(int)( ( size + SEGMENT_BYTES
+                - 1 ) / SEGMENT_BYTES )];
+            for ( int i = 0; i < segments.length; i++ ){
+                long start = i * SEGMENT_BYTES;
+                segments[i] = channel.map( FileChannel.MapMode.READ_ONLY,
+                    start, Math.min( size - start,
+                        SEGMENT_BYTES + MAX_RECORD_BYTES ) );
+            }
+            if ( size < HEADER_BYTES || segments[0].getInt( 0 ) != MAGIC ){
+                throw new IOException( file + " is not a game archive." );
+            }
+            if ( segments[0].getInt( 4 ) != VERSION ){
+                throw new IOException( file + " is a game archive of version "
+                    + segments[0].getInt( 4 ) + ", not " + VERSION + "." );
+            }
+            indexOffset = segments[0].getLong( 8 );
+            gameCount = segments[0].getInt( 16 );
+            if ( indexOffset < HEADER_BYTES || gameCount < 0 || indexOffset
+                + (long)gameCount * INDEX_ENTRY_BYTES > size ){
+                throw new IOException( file + " is not a complete game "
+                    + "archive." );
+            }
+        }
+        catch ( IOException | RuntimeException e ){
+            channel.close();
+            throw e;
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of games in the archive.
+     *
+     * @return int the number of games
+     */
+    public int getGameCount(){
+        return gameCount;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Reads a game: its start, its moves and its tags. The moves are
+     * replayed from the start to turn them back into packed moves, so this
+     * takes as long as the game is, however many games come before it.
+     *
+     * @param game
+     *            the index of the game, 0 being the first
+     * @return game.GameRecord the game
+     */
+    public GameRecord getGame( int game ){
+        ByteBuffer in = openRecord( game, 0 );
+        String fen = readString( in );
+        ChessPosition position = fen.isEmpty()
+            ? Fen.load( Fen.START_POSITION )
+            : Fen.load( fen );
+        GameRecord record = new GameRecord( position );
+        for ( Map.Entry<String, String> tag : getTags( game ).entrySet() ){
+            record.setTag( tag.getKey(), tag.getValue() );
+        }
+        int moveCount = in.getShort() & 0xffff;
+        MoveList legalMoves = new MoveList();
+        for ( int i = 0; i < moveCount; i++ ){
+            legalMoves.clear();
+            position.generateLegalMoves( legalMoves );
+            legalMoves.sort();
+            int index = in.get() & 0xff;
+            if ( index >= legalMoves.size() ){
+                throw new IllegalStateException( "Move " + ( i + 1 )
+                    + " of game " + game + " of the archive is damaged." );
+            }
+            int move = legalMoves.get( index );
+            record.addMove( move );
+            position.commitMove( move );
+        }
+        return record;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of moves of a game, without replaying them.
+     *
+     * @param game
+     *            the index of the game, 0 being the first
+     * @return int the number of moves (plies)
+     */
+    public int getMoveCount( int game ){
+        ByteBuffer in = openRecord( game, 0 );
+        int fenLength = in.getShort() & 0xffff;
+        in.position( in.position() + fenLength );
+        return in.getShort() & 0xffff;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the tags of a game, without reading its moves.
+     *
+     * @param game
+     *            the index of the game, 0 being the first
+     * @return Map<String, String> the tags, in the order they were written
+     */
+    public Map<String, String> getTags( int game ){
+        ByteBuffer in = openRecord( game, 8 );
+        int tagCount = in.getShort() & 0xffff;
+        Map<String, String> tags = new LinkedHashMap<>();
+        for ( int i = 0; i < tagCount; i++ ){
+            String name = readString( in );
+            tags.put( name, readString( in ) );
+        }
+        return tags;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets a buffer positioned at the moves or tags of a game.
+     *
+     * @param game
+     *            the index of the game
+     * @param field
+     *            0 for the moves, 8 for the tags
+     * @return ByteBuffer a buffer of its own, at the start of the record
+     */
+    private ByteBuffer openRecord( int game, int field ){
+        if ( game < 0 || game >= gameCount ){
+            throw new IndexOutOfBoundsException( "There is no game " + game
+                + " in an archive of " + gameCount + " games." );
+        }
+        long entry = indexOffset + (long)game * INDEX_ENTRY_BYTES + field;
+        return open( open( entry ).getLong() );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets a buffer positioned at an offset in the file.
+     *
+     * @param offset
+     *            the offset
+     * @return ByteBuffer a buffer of its own, so reads do not disturb other
+     *         threads
+     */
+    private ByteBuffer open( long offset ){
+        ByteBuffer in = segments[(int)( offset / SEGMENT_BYTES )].duplicate();
+        in.position( (int)( offset % SEGMENT_BYTES ) );
+        return in;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Reads a string: an unsigned 16-bit length, then that many bytes of
+     * UTF-8.
+     *
+     * @param in
+     *            the buffer to read from
+     * @return String the string
+     */
+    private static String readString( ByteBuffer in ){
+        byte[] bytes = new byte[in.getShort() & 0xffff];
+        in.get( bytes );
+        return new String( bytes, StandardCharsets.UTF_8 );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Closes the file. The mappings are released once they are no longer
+     * used.
+     *
+     * @throws IOException
+     *             if closing fails
+     */
+    @Override
+    public void close() throws IOException{
+        channel.close();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Prints the number of games in an archive, or one game as PGN.
+     *
+     * @param args
+     *            the archive file and, optionally, the index of a game
+     * @throws IOException
+     *             if the archive cannot be read
+     */
+    public static void main( String[] args ) throws IOException{
+        if ( args.length != 1 && args.length != 2 ){
+            System.err.println( "Usage: GameArchive file [game]" );
+            System.exit( 2 );
+        }
+        try ( GameArchive archive = new GameArchive( Paths.get( args[0] ) ) ){
+            PrintStream out = System.out;
+            if ( args.length == 1 ){
+                out.println( "Games: " + archive.getGameCount() );
+                return;
+            }
+            PgnWriter writer = new PgnWriter(
+                new OutputStreamWriter( out, StandardCharsets.UTF_8 ) );
+            writer.writeGame( archive.getGame( Integer.parseInt( args[1] ) ) );
+            writer.flush();
+        }
+    }
+}
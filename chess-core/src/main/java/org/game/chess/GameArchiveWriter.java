@@ -0,0 +1,309 @@
+package org.game.chess;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+// -------------------------------------------------------------------------
+/**
+ * Writes game records (see game.GameRecord) to a binary archive, creating
+ * it or adding to the games already in it. See game.GameArchive for the
+ * format and for reading.
+ * <p>
+ * The moves of each game go out as they are written, but the tags and the
+ * index are only written by close, so an archive is not readable while it
+ * is being written to, and is left damaged if the writer is never closed.
+ */
+public class GameArchiveWriter implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer  moves;
+    private ByteBuffer        tags;
+    private final MoveList    legalMoves;
+    private long              movesOffset;
+    private long[]            index;
+    private int               gameCount;
+    private final int         firstNewGame;
+    // ----------------------------------------------------------
+    /**
+     * Opens an archive for adding games, creating it if needed.
+     *
+     * @param file
+     *            the archive file
+     * @throws IOException
+     *             if the file cannot be opened, or is there but is not an
+     *             archive
+     */
+    public GameArchiveWriter( Path file ) throws IOException{
+        channel = FileChannel.open( file, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE );
+        moves = ByteBuffer.allocate( BUFFER_BYTES );
+        tags = ByteBuffer.allocate( BUFFER_BYTES );
+        legalMoves = new MoveList();
+        try {
+            if ( channel.size() == 0 ){
+                index = new long[256];
+                movesOffset = GameArchive.HEADER_BYTES;
+            }
+            else
+            {
+                readIndex( file );
+            }
+        }
+        catch ( IOException | RuntimeException e ){
+            channel.close();
+            throw e;
+        }
+        firstNewGame = gameCount;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Reads the index of an existing archive. New games are written over
+     * the old index, which is written again, with them, on close.
+     *
+     * @param file
+     *            the archive file, for error messages
+     * @throws IOException
+     *             if the file cannot be read or is not an archive
+     */
+    private void readIndex( Path file ) throws IOException{
+        ByteBuffer header = ByteBuffer.allocate( GameArchive.HEADER_BYTES );
+        readFully( header, 0 );
+        if ( header.getInt( 0 ) != GameArchive.MAGIC
+            || header.getInt( 4 ) != GameArchive.VERSION ){
+            throw new IOException( file + " is not a game archive of version "
+                + GameArchive.VERSION + "." );
+        }
+        movesOffset = header.getLong( 8 );
+        gameCount = header.getInt( 16 );
+        ByteBuffer entries =
+            ByteBuffer.allocate( gameCount * GameArchive.INDEX_ENTRY_BYTES );
+        readFully( entries, movesOffset );
+        index = new long[Math.max( gameCount * 2, 256 )];
+        entries.asLongBuffer().get( index, 0, gameCount * 2 );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Fills a buffer from the file.
+     *
+     * @param buffer
+     *            the buffer to fill
+     * @param offset
+     *            the offset in the file to read from
+     * @throws IOException
+     *             if the file ends first
+     */
+    private void readFully( ByteBuffer buffer, long offset ) throws IOException{
+        while ( buffer.hasRemaining() ){
+            if ( channel.read( buffer, offset + buffer.position() ) < 0 ){
+                throw new IOException( "The game archive is incomplete." );
+            }
+        }
+        buffer.flip();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds a game: its start, its moves and its tags.
+     *
+     * @param record
+     *            the game
+     * @throws IOException
+     *             if writing fails
+     * @throws IllegalArgumentException
+     *             if a move of the game is not legal where it is played, or
+     *             the game is too long to archive
+     */
+    public void writeGame( GameRecord record ) throws IOException{
+        if ( moves.remaining() < GameArchive.MAX_RECORD_BYTES ){
+            flushMoves();
+        }
+        int movesStart = moves.position();
+        int tagsStart = tags.position();
+        try {
+            encodeMoves( record );
+            encodeTags( record );
+        }
+        catch ( IllegalArgumentException | BufferOverflowException e ){
+            moves.position( movesStart );
+            tags.position( tagsStart );
+            if ( e instanceof BufferOverflowException ){
+                throw new IllegalArgumentException( "The tags of the game "
+                    + "take more than " + GameArchive.MAX_RECORD_BYTES
+                    + " bytes." );
+            }
+            throw e;
+        }
+        if ( gameCount * 2 == index.length ){
+            index = Arrays.copyOf( index, index.length * 2 );
+        }
+        index[gameCount * 2] = movesOffset + movesStart;
+        // made absolute by close, once the place of the table is known
+        index[gameCount * 2 + 1] = tagsStart;
+        gameCount++;
+        if ( tags.remaining() < GameArchive.MAX_RECORD_BYTES ){
+            growTags();
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds the start and moves of a game to the move buffer.
+     *
+     * @param record
+     *            the game
+     */
+    private void encodeMoves( GameRecord record ){
+        if ( record.getMoveCount() > 0xffff ){
+            throw new IllegalArgumentException( "A game of "
+                + record.getMoveCount() + " moves is too long to archive." );
+        }
+        ChessPosition position = record.getStartPosition();
+        String fen = Fen.toString( position );
+        writeString( moves, Fen.START_POSITION.equals( fen ) ? "" : fen );
+        moves.putShort( (short)record.getMoveCount() );
+        for ( int i = 0; i < record.getMoveCount(); i++ ){
+            int move = record.getMove( i );
+            legalMoves.clear();
+            position.generateLegalMoves( legalMoves );
+            legalMoves.sort();
+            int moveIndex = legalMoves.indexOf( move );
+            if ( moveIndex < 0 ){
+                throw new IllegalArgumentException( "Move " + ( i + 1 )
+                    + " of the game, " + Move.toString( move )
+                    + ", is not legal." );
+            }
+            moves.put( (byte)moveIndex );
+            position.commitMove( move );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds the tags of a game to the tag buffer.
+     *
+     * @param record
+     *            the game
+     */
+    private void encodeTags( GameRecord record ){
+        int start = tags.position();
+        tags.putShort( (short)record.getTags().size() );
+        for ( Map.Entry<String, String> tag : record.getTags().entrySet() ){
+            writeString( tags, tag.getKey() );
+            writeString( tags, tag.getValue() );
+            if ( tags.position() - start > GameArchive.MAX_RECORD_BYTES ){
+                throw new BufferOverflowException();
+            }
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Writes a string: an unsigned 16-bit length, then that many bytes of
+     * UTF-8.
+     *
+     * @param out
+     *            the buffer to write to
+     * @param value
+     *            the string
+     */
+    private static void writeString( ByteBuffer out, String value ){
+        byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+        if ( bytes.length > 0xffff ){
+            throw new BufferOverflowException();
+        }
+        out.putShort( (short)bytes.length ).put( bytes );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Doubles the tag buffer. The tags of all games written are kept until
+     * close, to be written together after their moves.
+     */
+    private void growTags(){
+        ByteBuffer grown = ByteBuffer.allocate( tags.capacity() * 2 );
+        tags.flip();
+        grown.put( tags );
+        tags = grown;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Writes out the moves in the buffer.
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    private void flushMoves() throws IOException{
+        moves.flip();
+        movesOffset += writeFully( moves, movesOffset );
+        moves.clear();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Writes a buffer to the file.
+     *
+     * @param buffer
+     *            the buffer, flipped for reading
+     * @param offset
+     *            the offset in the file to write at
+     * @return int the number of bytes written
+     * @throws IOException
+     *             if writing fails
+     */
+    private int writeFully( ByteBuffer buffer, long offset ) throws IOException{
+        int length = buffer.remaining();
+        while ( buffer.hasRemaining() ){
+            channel.write( buffer, offset + length - buffer.remaining() );
+        }
+        return length;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of games in the archive, including those written
+     * before it was opened.
+     *
+     * @return int the number of games
+     */
+    public int getGameCount(){
+        return gameCount;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Writes out the moves still buffered, then the tags of the games
+     * written, the index and the header, and closes the file. Closing it
+     * again does nothing.
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    @Override
+    public void close() throws IOException{
+        if ( !channel.isOpen() ){
+            return;
+        }
+        try {
+            flushMoves();
+            long tagsOffset = movesOffset;
+            tags.flip();
+            long indexOffset = tagsOffset + writeFully( tags, tagsOffset );
+            for ( int i = firstNewGame; i < gameCount; i++ ){
+                index[i * 2 + 1] += tagsOffset;
+            }
+            ByteBuffer entries = ByteBuffer.allocate(
+                gameCount * GameArchive.INDEX_ENTRY_BYTES );
+            entries.asLongBuffer().put( index, 0, gameCount * 2 );
+            long end = indexOffset + writeFully( entries, indexOffset );
+            ByteBuffer header = ByteBuffer.allocate( GameArchive.HEADER_BYTES );
+            header.putInt( GameArchive.MAGIC ).putInt( GameArchive.VERSION )
+                .putLong( indexOffset ).putInt( gameCount ).flip();
+            writeFully( header, 0 );
+            channel.truncate( end );
+        }
+        finally
+        {
+            channel.close();
+        }
+    }
+}
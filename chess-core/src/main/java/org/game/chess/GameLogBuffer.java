@@ -0,0 +1,115 @@
+package org.game.chess;
+
+import java.io.Serializable;
+import java.util.Arrays;
+// -------------------------------------------------------------------------
+/**
+ * The most recent entries of a game log, kept in a ring buffer of fixed
+ * capacity. Adding an entry is constant time however long the game runs;
+ * once the buffer is full, every new entry pushes out the oldest one.
+ * <p>
+ * Not thread-safe: entries are added and read on one thread, the Swing event
+ * thread for the game log view.
+ */
+public class GameLogBuffer implements Serializable {
+    private final GameLogEntry[] entries;
+    private int                  first;
+    private int                  size;
+    private long                 added;
+    // ----------------------------------------------------------
+    /**
+     * Create a new, empty GameLogBuffer.
+     *
+     * @param capacity
+     *            the number of entries kept, at least 1
+     */
+    public GameLogBuffer( int capacity ){
+        if ( capacity < 1 ){
+            throw new IllegalArgumentException( "A game log must keep at "
+                + "least one entry, not " + capacity + "." );
+        }
+        entries = new GameLogEntry[capacity];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds an entry after the most recent one.
+     *
+     * @param entry
+     *            the entry to add
+     * @return GameLogEntry the oldest entry, if it was pushed out to make
+     *         room, or null
+     */
+    public GameLogEntry add( GameLogEntry entry ){
+        added++;
+        if ( size < entries.length ){
+            entries[( first + size++ ) % entries.length] = entry;
+            return null;
+        }
+        GameLogEntry oldest = entries[first];
+        entries[first] = entry;
+        first = ( first + 1 ) % entries.length;
+        return oldest;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets an entry, counting from the oldest one kept.
+     *
+     * @param index
+     *            the index of the entry, from 0 to size() - 1
+     * @return GameLogEntry the entry
+     */
+    public GameLogEntry get( int index ){
+        if ( index < 0 || index >= size ){
+            throw new IndexOutOfBoundsException( "Index " + index
+                + " is out of a log of " + size + " entries." );
+        }
+        return entries[( first + index ) % entries.length];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the most recent entry.
+     *
+     * @return GameLogEntry the entry, or null if the log is empty
+     */
+    public GameLogEntry getLast(){
+        return size == 0 ? null : get( size - 1 );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of entries kept.
+     *
+     * @return int the number of entries, at most getCapacity()
+     */
+    public int size(){
+        return size;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of entries the buffer can keep.
+     *
+     * @return int the capacity
+     */
+    public int getCapacity(){
+        return entries.length;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of entries added since the buffer was created or last
+     * cleared, including those pushed out since.
+     *
+     * @return long the number of entries added
+     */
+    public long getAddedCount(){
+        return added;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Removes all entries.
+     */
+    public void clear(){
+        Arrays.fill( entries, null );
+        first = 0;
+        size = 0;
+        added = 0;
+    }
+}
@@ -0,0 +1,102 @@
+package org.game.chess;
+
+import java.io.Serializable;
+import java.util.Date;
+import org.game.chess.enums.LogEventEnum;
+// -------------------------------------------------------------------------
+/**
+ * One line of the game log: what happened, when, and at which ply of the
+ * game. Entries are immutable, so the same entry can be shown by the log view
+ * and written to disk by a game.GameLogWriter at the same time.
+ */
+public final class GameLogEntry implements Serializable {
+    private final long         timestamp;
+    private final int          ply;
+    private final int          move;
+    private final LogEventEnum type;
+    private final String       text;
+    // ----------------------------------------------------------
+    /**
+     * Create a new GameLogEntry.
+     *
+     * @param timestamp
+     *            when it happened, in milliseconds since the epoch
+     * @param ply
+     *            the number of moves played in the game so far
+     * @param move
+     *            the packed move (see game.Move) for a MOVE entry, else
+     *            game.Move.NONE
+     * @param type
+     *            the kind of event
+     * @param text
+     *            the line of text to show
+     */
+    public GameLogEntry( long timestamp, int ply, int move, LogEventEnum type,
+        String text ){
+        if ( type == null || text == null ){
+            throw new IllegalArgumentException( "A log entry needs a type and "
+                + "a text." );
+        }
+        this.timestamp = timestamp;
+        this.ply = ply;
+        this.move = move;
+        this.type = type;
+        this.text = text;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets when the entry was made.
+     *
+     * @return long the time in milliseconds since the epoch
+     */
+    public long getTimestamp(){
+        return timestamp;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of moves played in the game when the entry was made.
+     *
+     * @return int the ply
+     */
+    public int getPly(){
+        return ply;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the move of a MOVE entry.
+     *
+     * @return int the packed move, or game.Move.NONE
+     */
+    public int getMove(){
+        return move;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the kind of event.
+     *
+     * @return LogEventEnum the type
+     */
+    public LogEventEnum getType(){
+        return type;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the line of text of the entry.
+     *
+     * @return String the text
+     */
+    public String getText(){
+        return text;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Returns the entry the way the game log shows it, i.e. the date and the
+     * text.
+     *
+     * @return String the string representation
+     */
+    @Override
+    public String toString(){
+        return new Date( timestamp ) + " - " + text;
+    }
+}
@@ -0,0 +1,285 @@
+package org.game.chess;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.game.chess.enums.LogEventEnum;
+// -------------------------------------------------------------------------
+/**
+ * Writes game log entries to a file on a background thread, so that logging
+ * never waits for the disk. Entries are queued by write and written by a
+ * single daemon thread in batches, with one flush per batch.
+ * <p>
+ * Every entry is one tab-separated line: the time (ISO-8601), the ply, the
+ * type, the move in coordinate notation or "-", and the text. When the file
+ * would grow past its size limit it is rotated: "game.log" becomes
+ * "game.log.1", "game.log.1" becomes "game.log.2" and so on, and the oldest
+ * file is deleted.
+ * <p>
+ * If the queue is full the entry is dropped rather than blocking the caller,
+ * and counted in getDroppedCount. An I/O error stops the writer; close
+ * reports it.
+ */
+public class GameLogWriter implements Closeable {
+    private static final int          QUEUE_CAPACITY = 4096;
+    private static final int          BATCH_SIZE     = 256;
+    private static final long         OFFER_MILLIS   = 10;
+    private static final GameLogEntry END            =
+        new GameLogEntry( 0L, 0, Move.NONE, LogEventEnum.MESSAGE, "" );
+
+    private final Path                        file;
+    private final long                        maxBytes;
+    private final int                         maxFiles;
+    private final BlockingQueue<GameLogEntry> queue;
+    private final LongAdder                   dropped;
+    private final Thread                      worker;
+    private volatile boolean                  closed;
+    private volatile IOException              failure;
+    private BufferedWriter                    out;
+    private long                              fileBytes;
+    // ----------------------------------------------------------
+    /**
+     * Create a new GameLogWriter and start its thread. Entries are appended
+     * to the file if it already exists.
+     *
+     * @param file
+     *            the file to write to
+     * @param maxBytes
+     *            the size a file may grow to before it is rotated, at least 1
+     * @param maxFiles
+     *            the number of rotated files to keep besides the current
+     *            one, at least 0
+     */
+    public GameLogWriter( Path file, long maxBytes, int maxFiles ){
+        if ( maxBytes < 1 || maxFiles < 0 ){
+            throw new IllegalArgumentException( "A log file needs a size of "
+                + "at least 1 byte and at least 0 rotated files, not "
+                + maxBytes + " and " + maxFiles + "." );
+        }
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+        queue = new ArrayBlockingQueue<>( QUEUE_CAPACITY );
+        dropped = new LongAdder();
+        worker = new Thread( this::run, "game-log-writer" );
+        worker.setDaemon( true );
+        worker.start();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Queues an entry to be written. Never blocks.
+     *
+     * @param entry
+     *            the entry to write
+     */
+    public void write( GameLogEntry entry ){
+        if ( closed ){
+            throw new IllegalStateException( "The log writer for " + file
+                + " is closed." );
+        }
+        if ( failure != null || !queue.offer( entry ) ){
+            dropped.increment();
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Writes the entries still queued, closes the file and stops the thread.
+     * Does nothing if the writer is already closed.
+     *
+     * @throws IOException
+     *             if writing the log failed at any point
+     */
+    @Override
+    public void close() throws IOException{
+        if ( closed ){
+            return;
+        }
+        closed = true;
+        boolean interrupted = false;
+        boolean ended = false;
+        // a full queue empties a batch at a time, unless the thread died
+        while ( !ended && worker.isAlive() ){
+            try {
+                ended = queue.offer( END, OFFER_MILLIS, TimeUnit.MILLISECONDS );
+            }
+            catch ( InterruptedException e ){
+                interrupted = true;
+            }
+        }
+        while ( worker.isAlive() ){
+            try {
+                worker.join();
+            }
+            catch ( InterruptedException e ){
+                interrupted = true;
+            }
+        }
+        if ( interrupted ){
+            Thread.currentThread().interrupt();
+        }
+        if ( failure != null ){
+            throw failure;
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of entries that were not written because the queue
+     * was full or the writer had failed.
+     *
+     * @return long the number of dropped entries
+     */
+    public long getDroppedCount(){
+        return dropped.sum();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Writes the queued entries in batches until close queues END. Runs on
+     * the writer thread.
+     */
+    private void run(){
+        List<GameLogEntry> batch = new ArrayList<>( BATCH_SIZE );
+        boolean running = true;
+        try {
+            open();
+            while ( running ){
+                batch.add( queue.take() );
+                queue.drainTo( batch, BATCH_SIZE - 1 );
+                for ( GameLogEntry entry : batch ){
+                    if ( entry == END ){
+                        running = false;
+                        break;
+                    }
+                    writeLine( format( entry ) );
+                }
+                out.flush();
+                batch.clear();
+            }
+        }
+        catch ( IOException e ){
+            failure = e;
+            queue.clear();
+        }
+        catch ( InterruptedException e ){
+            // stopped from outside; what is queued is lost
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            closeQuietly();
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Opens the file for appending.
+     *
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    private void open() throws IOException{
+        out = Files.newBufferedWriter( file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND );
+        fileBytes = Files.size( file );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Writes a line, rotating the file first if the line does not fit.
+     *
+     * @param line
+     *            the line, without the line separator
+     * @throws IOException
+     *             if the file cannot be written or rotated
+     */
+    private void writeLine( String line ) throws IOException{
+        long bytes = line.getBytes( StandardCharsets.UTF_8 ).length + 1;
+        if ( fileBytes > 0 && fileBytes + bytes > maxBytes ){
+            rotate();
+        }
+        out.write( line );
+        out.write( '\n' );
+        fileBytes += bytes;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Closes the current file, shifts the rotated files up by one and opens
+     * a new, empty file.
+     *
+     * @throws IOException
+     *             if a file cannot be moved or opened
+     */
+    private void rotate() throws IOException{
+        out.close();
+        if ( maxFiles == 0 ){
+            Files.delete( file );
+        }
+        else
+        {
+            Files.deleteIfExists( rotated( maxFiles ) );
+            for ( int i = maxFiles - 1; i >= 1; i-- ){
+                if ( Files.exists( rotated( i ) ) ){
+                    Files.move( rotated( i ), rotated( i + 1 ) );
+                }
+            }
+            Files.move( file, rotated( 1 ),
+                StandardCopyOption.REPLACE_EXISTING );
+        }
+        open();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the path of a rotated file.
+     *
+     * @param index
+     *            the number of the file, 1 being the most recent
+     * @return Path the path, i.e. "game.log.1"
+     */
+    private Path rotated( int index ){
+        return file.resolveSibling( file.getFileName() + "." + index );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Closes the file, keeping the first error seen.
+     */
+    private void closeQuietly(){
+        if ( out == null ){
+            return;
+        }
+        try {
+            out.close();
+        }
+        catch ( IOException e ){
+            if ( failure == null ){
+                failure = e;
+            }
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Formats an entry as one line of the file.
+     *
+     * @param entry
+     *            the entry
+     * @return String the tab-separated line
+     */
+    private static String format( GameLogEntry entry ){
+        String move = entry.getMove() == Move.NONE
+            ? "-"
+            : Move.toString( entry.getMove() );
+        // keep one entry on one line
+        String text = entry.getText().replace( '\n', ' ' ).replace( '\t', ' ' );
+        return Instant.ofEpochMilli( entry.getTimestamp() ) + "\t"
+            + entry.getPly() + "\t" + entry.getType() + "\t" + move + "\t"
+            + text;
+    }
+}
@@ -0,0 +1,162 @@
+package org.game.chess;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+// -------------------------------------------------------------------------
+/**
+ * The record of one game: the position it started from, the moves played as
+ * packed ints (see game.Move), and PGN tags. It starts with the Seven Tag
+ * Roster of PGN set to "unknown", and a result of "*" until the game ends.
+ * A game that does not start from the standard position also gets the
+ * SetUp and FEN tags of PGN for its start. See game.PgnWriter for writing
+ * records out.
+ */
+public class GameRecord implements Serializable {
+    /**
+     * The result of a game white won.
+     */
+    public static final String WHITE_WINS  = "1-0";
+    /**
+     * The result of a game black won.
+     */
+    public static final String BLACK_WINS  = "0-1";
+    /**
+     * The result of a drawn game.
+     */
+    public static final String DRAW        = "1/2-1/2";
+    /**
+     * The result of a game still in progress, or whose result is unknown.
+     */
+    public static final String IN_PROGRESS = "*";
+
+    private static final String[] ROSTER =
+        { "Event", "Site", "Date", "Round", "White", "Black", "Result" };
+
+    private final ChessPosition       start;
+    private final Map<String, String> tags;
+    private final MoveList            moves;
+    // ----------------------------------------------------------
+    /**
+     * Create a new, empty GameRecord.
+     *
+     * @param start
+     *            the position the game starts from; it is copied, so it may
+     *            change afterwards
+     */
+    public GameRecord( ChessPosition start ){
+        this.start = start.copy();
+        tags = new LinkedHashMap<>();
+        moves = new MoveList( 128 );
+        for ( String name : ROSTER ){
+            tags.put( name, "?" );
+        }
+        tags.put( "Date", "????.??.??" );
+        tags.put( "Result", IN_PROGRESS );
+        String fen = Fen.toString( start );
+        if ( !Fen.START_POSITION.equals( fen ) ){
+            tags.put( "SetUp", "1" );
+            tags.put( "FEN", fen );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds the next move of the game.
+     *
+     * @param move
+     *            the packed move, legal after the moves before it
+     */
+    public void addMove( int move ){
+        moves.add( move );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets a move of the game.
+     *
+     * @param index
+     *            the index of the move, 0 being the first
+     * @return int the packed move
+     */
+    public int getMove( int index ){
+        return moves.get( index );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of moves played.
+     *
+     * @return int the number of moves (plies)
+     */
+    public int getMoveCount(){
+        return moves.size();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the position the game started from.
+     *
+     * @return ChessPosition a new copy of the starting position
+     */
+    public ChessPosition getStartPosition(){
+        return start.copy();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sets a tag, or adds it after the others if it is new.
+     *
+     * @param name
+     *            the tag name, letters, digits and underscores only
+     * @param value
+     *            the value
+     */
+    public void setTag( String name, String value ){
+        if ( name == null || !name.matches( "\\w+" ) || value == null ){
+            throw new IllegalArgumentException( "Not a valid PGN tag: "
+                + name + " = " + value );
+        }
+        tags.put( name, value );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the value of a tag.
+     *
+     * @param name
+     *            the tag name
+     * @return String the value, or null if the tag is not set
+     */
+    public String getTag( String name ){
+        return tags.get( name );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets all tags, the Seven Tag Roster first.
+     *
+     * @return Map<String, String> the tags, read-only
+     */
+    public Map<String, String> getTags(){
+        return Collections.unmodifiableMap( tags );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sets the result of the game.
+     *
+     * @param result
+     *            one of WHITE_WINS, BLACK_WINS, DRAW or IN_PROGRESS
+     */
+    public void setResult( String result ){
+        if ( !WHITE_WINS.equals( result ) && !BLACK_WINS.equals( result )
+            && !DRAW.equals( result ) && !IN_PROGRESS.equals( result ) ){
+            throw new IllegalArgumentException( "Not a game result: "
+                + result );
+        }
+        tags.put( "Result", result );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the result of the game.
+     *
+     * @return String one of WHITE_WINS, BLACK_WINS, DRAW or IN_PROGRESS
+     */
+    public String getResult(){
+        return tags.get( "Result" );
+    }
+}
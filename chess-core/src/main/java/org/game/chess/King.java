@@ -0,0 +1,126 @@
+package org.game.chess;
+
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * Represents a game.King game piece.
+ *
+ * @author Ben Katz (bakatz)
+ * @author Myles David II (davidmm2)
+ * @author Danielle Bushrow (dbushrow)
+ * @version 2010.11.17
+ */
+public class King
+    extends AllDirections {
+    // ----------------------------------------------------------
+    /**
+     * Create a new game.King object.
+     *
+     * @param board
+     *            the board to create the king on
+     * @param row
+     *            the row to create the king on
+     * @param col
+     *            the column to create the king on
+     * @param color
+     *            either GamePiece.WHITE, BLACK, or UNASSIGNED
+     */
+    public King(ChessPosition board, int row, int col, PieceColorEnum color ){
+        super( board, row, col, color, false );
+    }
+    /**
+     * Calculates the possible moves for this piece. These are ALL the possible
+     * moves, including illegal (but at the same time valid) moves. The single
+     * steps are the squares the king attacks (see game.Attacks).
+     *
+     * @param board
+     *            the game board to calculate moves on
+     * @param moves
+     *            the list to add the moves to
+     */
+    protected void calculatePossibleMoves( ChessPosition board, MoveList moves ){
+        if ( isPieceOnScreen() ){
+            addMoves( board, moves,
+                Attacks.king( ChessPosition.square( pieceRow, pieceColumn ) )
+                    & ~board.getOccupancy( getColorOfPiece() ) );
+            calculateCastlingMoves( board, moves );
+        }
+    }
+    /**
+     * Calculates the possible moves for this piece by walking one square in
+     * each direction, to cross-check calculatePossibleMoves.
+     *
+     * @param board
+     *            the game board to calculate moves on
+     * @param moves
+     *            the list to add the moves to
+     */
+    @Override
+    void calculateWalkedMoves( ChessPosition board, MoveList moves ){
+        super.calculatePossibleMoves(board, 1, moves);
+        if ( isPieceOnScreen() ){
+            calculateCastlingMoves( board, moves );
+        }
+    }
+    /**
+     * Calculates the castling moves of this king. The king may castle if it
+     * and the rook have not moved (the position's castling rights), the
+     * squares between them are empty, and the king is not in check and does
+     * not pass over an attacked square. Whether it lands on an attacked
+     * square is left to the usual king safety test.
+     *
+     * @param board
+     *            the game board to calculate moves on
+     * @param moves
+     *            the list to add the moves to
+     */
+    private void calculateCastlingMoves( ChessPosition board, MoveList moves ){
+        boolean white = getColorOfPiece() == PieceColorEnum.WHITE;
+        int homeRow = white ? 7 : 0;
+        int kingside =
+            white ? ChessPosition.WHITE_KINGSIDE : ChessPosition.BLACK_KINGSIDE;
+        int queenside = white
+            ? ChessPosition.WHITE_QUEENSIDE
+            : ChessPosition.BLACK_QUEENSIDE;
+        if ( pieceRow != homeRow || pieceColumn != 4
+            || !board.hasCastlingRight( kingside | queenside ) ){
+            return;
+        }
+        PieceColorEnum enemy = ChessPosition.opponent( getColorOfPiece() );
+        if ( board.isSquareAttacked( homeRow, 4, enemy ) ){
+            return;
+        }
+        if ( board.hasCastlingRight( kingside )
+            && board.isEmpty( homeRow, 5 ) && board.isEmpty( homeRow, 6 )
+            && !board.isSquareAttacked( homeRow, 5, enemy ) ){
+            addMove( board, moves, homeRow, 6, 0, Move.CASTLE );
+        }
+        if ( board.hasCastlingRight( queenside )
+            && board.isEmpty( homeRow, 3 ) && board.isEmpty( homeRow, 2 )
+            && board.isEmpty( homeRow, 1 )
+            && !board.isSquareAttacked( homeRow, 3, enemy ) ){
+            addMove( board, moves, homeRow, 2, 0, Move.CASTLE );
+        }
+    }
+    /**
+     * Determines if this game.King is checked.
+     *
+     * @param board
+     *            the board to check on
+     * @return true if checked, false if not checked
+     */
+    public boolean isChecked( ChessPosition board ){
+        return isPieceOnScreen() && board.isSquareAttacked( pieceRow,
+            pieceColumn, ChessPosition.opponent( getColorOfPiece() ) );
+    }
+    /**
+     * Gets the type of this piece.
+     *
+     * @return PieceTypeEnum always KING
+     */
+    @Override
+    public PieceTypeEnum getPieceType(){
+        return PieceTypeEnum.KING;
+    }
+}
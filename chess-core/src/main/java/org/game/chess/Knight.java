@@ -0,0 +1,113 @@
+package org.game.chess;
+
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * Represents a game.Knight game piece.
+ *
+ * @author Ben Katz (bakatz)
+ * @author Myles David II (davidmm2)
+ * @author Danielle Bushrow (dbushrow)
+ * @version 2010.11.17
+ */
+public class Knight
+    extends ChessGamePiece{
+    /**
+     * game.Knight constructor for gamePiece
+     *
+     * @param row
+     *            the row to create the knight on
+     * @param col
+     *            the column to create the knight on
+     * @param board
+     *            the board to create the piece on
+     * @param color
+     *            either GamePiece.WHITE, BLACK, or UNASSIGNED
+     */
+    public Knight(ChessPosition board, int row, int col, PieceColorEnum color ){
+        super( board, row, col, color );
+    }
+    /**
+     * Calculates the moves of the knight in the north direction relative to the
+     * location of the piece.
+     *
+     * @param board
+     *            the board to check moves on
+     * @param moves
+     *            the list to add the moves to
+     */
+    private void calculateNorthMoves( ChessPosition board, MoveList moves ){
+        for ( int i = 2; i >= -2; i -= 4 ){
+            for ( int j = 1; j >= -1; j -= 2 ){
+                if ( isOnScreen( pieceRow + i, pieceColumn + j )
+                    && ( isEnemy( board, pieceRow + i, pieceColumn + j ) ||
+                        board.isEmpty( pieceRow + i, pieceColumn + j ) ) ){
+                    addMove( board, moves, pieceRow + i, pieceColumn + j );
+                }
+            }
+        }
+    }
+    /**
+     * Calculates the moves of the knight in the south direction relative to the
+     * location of the piece.
+     *
+     * @param board
+     *            the board to check moves on
+     * @param moves
+     *            the list to add the moves to
+     */
+    private void calculateSouthMoves( ChessPosition board, MoveList moves ){
+        for ( int i = 1; i >= -1; i -= 2 ){
+            for ( int j = 2; j >= -2; j -= 4 ){
+                if ( isOnScreen( pieceRow + i, pieceColumn + j )
+                    && ( isEnemy( board, pieceRow + i, pieceColumn + j ) ||
+                        board.isEmpty( pieceRow + i, pieceColumn + j ) ) ){
+                    addMove( board, moves, pieceRow + i, pieceColumn + j );
+                }
+            }
+        }
+    }
+    /**
+     * Calculates the possible moves for this game.Knight: the squares it
+     * attacks (see game.Attacks) not held by its own pieces.
+     *
+     * @param board
+     *            the game board to check
+     * @param moves
+     *            the list to add the moves to
+     */
+    @Override
+    protected void calculatePossibleMoves( ChessPosition board, MoveList moves ){
+        if ( isPieceOnScreen() ){
+            addMoves( board, moves,
+                Attacks.knight( ChessPosition.square( pieceRow, pieceColumn ) )
+                    & ~board.getOccupancy( getColorOfPiece() ) );
+        }
+    }
+    /**
+     * Calculates the possible moves for this game.Knight by trying every
+     * offset, to cross-check calculatePossibleMoves.
+     *
+     * @param board
+     *            the game board to check
+     * @param moves
+     *            the list to add the moves to
+     */
+    @Override
+    void calculateWalkedMoves( ChessPosition board, MoveList moves ){
+        if ( isPieceOnScreen() ){
+            calculateNorthMoves( board, moves );
+            calculateSouthMoves( board, moves );
+        }
+    }
+    /**
+     * Gets the type of this piece.
+     *
+     * @return PieceTypeEnum always KNIGHT
+     */
+    @Override
+    public PieceTypeEnum getPieceType(){
+        return PieceTypeEnum.KNIGHT;
+    }
+}
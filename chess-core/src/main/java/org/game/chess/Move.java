@@ -0,0 +1,284 @@
+package org.game.chess;
+
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * Packs a move into a single int, so that generating and comparing moves
+ * never allocates. The bits are laid out as follows:
+ *
+ * <pre>
+ *  0- 5  square moved from (row * 8 + col)
+ *  6-11  square moved to
+ * 12-14  type of the moving piece (PieceTypeEnum ordinal)
+ * 15-17  type of the captured piece, if CAPTURE is set
+ * 18-20  type promoted to, if PROMOTION is set
+ * 21-    flags
+ * </pre>
+ *
+ * The value 0 is never a real move and stands for "no move".
+ */
+public final class Move {
+    /**
+     * The value that stands for "no move".
+     */
+    public static final int NONE        = 0;
+    /**
+     * Set if the move takes an enemy piece.
+     */
+    public static final int CAPTURE     = 1 << 21;
+    /**
+     * Set if the move turns a pawn into another piece.
+     */
+    public static final int PROMOTION   = 1 << 22;
+    /**
+     * Set if a pawn moves two squares on its first move.
+     */
+    public static final int DOUBLE_PUSH = 1 << 23;
+    /**
+     * Set if a pawn takes an enemy pawn en passant.
+     */
+    public static final int EN_PASSANT  = 1 << 24;
+    /**
+     * Set if the king castles; the rook is moved along with it.
+     */
+    public static final int CASTLE      = 1 << 25;
+
+    private static final int FROM_SHIFT      = 0;
+    private static final int TO_SHIFT        = 6;
+    private static final int PIECE_SHIFT     = 12;
+    private static final int CAPTURED_SHIFT  = 15;
+    private static final int PROMOTION_SHIFT = 18;
+    private static final int SQUARE_MASK     = 0x3f;
+    private static final int TYPE_MASK       = 0x7;
+
+    private static final PieceTypeEnum[] TYPES = PieceTypeEnum.values();
+    // ----------------------------------------------------------
+    /**
+     * Not meant to be instantiated.
+     */
+    private Move(){
+        // static helpers only
+    }
+    // ----------------------------------------------------------
+    /**
+     * Packs a move.
+     *
+     * @param from
+     *            the square moved from
+     * @param to
+     *            the square moved to
+     * @param piece
+     *            the ordinal of the moving piece's type
+     * @param captured
+     *            the ordinal of the captured piece's type, only read if
+     *            flags contains CAPTURE
+     * @param promotion
+     *            the ordinal of the type promoted to, only read if flags
+     *            contains PROMOTION
+     * @param flags
+     *            any combination of the flag constants
+     * @return int the packed move
+     */
+    public static int create(
+        int from,
+        int to,
+        int piece,
+        int captured,
+        int promotion,
+        int flags ){
+        return ( from << FROM_SHIFT ) | ( to << TO_SHIFT )
+            | ( piece << PIECE_SHIFT ) | ( captured << CAPTURED_SHIFT )
+            | ( promotion << PROMOTION_SHIFT ) | flags;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the square a move starts on.
+     *
+     * @param move
+     *            the packed move
+     * @return int the square moved from
+     */
+    public static int getFrom( int move ){
+        return ( move >>> FROM_SHIFT ) & SQUARE_MASK;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the row a move starts on.
+     *
+     * @param move
+     *            the packed move
+     * @return int the row moved from
+     */
+    public static int getFromRow( int move ){
+        return getFrom( move ) >> 3;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the column a move starts on.
+     *
+     * @param move
+     *            the packed move
+     * @return int the column moved from
+     */
+    public static int getFromColumn( int move ){
+        return getFrom( move ) & 7;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the square a move ends on.
+     *
+     * @param move
+     *            the packed move
+     * @return int the square moved to
+     */
+    public static int getTo( int move ){
+        return ( move >>> TO_SHIFT ) & SQUARE_MASK;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the row a move ends on.
+     *
+     * @param move
+     *            the packed move
+     * @return int the row moved to
+     */
+    public static int getToRow( int move ){
+        return getTo( move ) >> 3;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the column a move ends on.
+     *
+     * @param move
+     *            the packed move
+     * @return int the column moved to
+     */
+    public static int getToColumn( int move ){
+        return getTo( move ) & 7;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the type of the moving piece.
+     *
+     * @param move
+     *            the packed move
+     * @return PieceTypeEnum the type of the piece
+     */
+    public static PieceTypeEnum getPiece( int move ){
+        return TYPES[( move >>> PIECE_SHIFT ) & TYPE_MASK];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the type of the captured piece.
+     *
+     * @param move
+     *            the packed move
+     * @return PieceTypeEnum the type of the captured piece, or null if the
+     *         move is not a capture
+     */
+    public static PieceTypeEnum getCaptured( int move ){
+        if ( !isCapture( move ) ){
+            return null;
+        }
+        return TYPES[( move >>> CAPTURED_SHIFT ) & TYPE_MASK];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the type a pawn is promoted to.
+     *
+     * @param move
+     *            the packed move
+     * @return PieceTypeEnum the new type, or null if the move is not a
+     *         promotion
+     */
+    public static PieceTypeEnum getPromotion( int move ){
+        if ( !isPromotion( move ) ){
+            return null;
+        }
+        return TYPES[( move >>> PROMOTION_SHIFT ) & TYPE_MASK];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if a move takes an enemy piece.
+     *
+     * @param move
+     *            the packed move
+     * @return boolean true if the move is a capture
+     */
+    public static boolean isCapture( int move ){
+        return ( move & CAPTURE ) != 0;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if a move promotes a pawn.
+     *
+     * @param move
+     *            the packed move
+     * @return boolean true if the move is a promotion
+     */
+    public static boolean isPromotion( int move ){
+        return ( move & PROMOTION ) != 0;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if a move takes a pawn en passant.
+     *
+     * @param move
+     *            the packed move
+     * @return boolean true if the move is an en passant capture
+     */
+    public static boolean isEnPassant( int move ){
+        return ( move & EN_PASSANT ) != 0;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if a move castles the king.
+     *
+     * @param move
+     *            the packed move
+     * @return boolean true if the move is castling
+     */
+    public static boolean isCastle( int move ){
+        return ( move & CASTLE ) != 0;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if a move advances a pawn by two squares.
+     *
+     * @param move
+     *            the packed move
+     * @return boolean true if the move is a double push
+     */
+    public static boolean isDoublePush( int move ){
+        return ( move & DOUBLE_PUSH ) != 0;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the name of a square in algebraic notation, i.e. "e4".
+     *
+     * @param square
+     *            the square index
+     * @return String the square name
+     */
+    public static String squareToString( int square ){
+        return "" + (char)( 'a' + ( square & 7 ) ) + ( 8 - ( square >> 3 ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Returns a move in coordinate notation, i.e. "e2e4" or "a7a8q".
+     *
+     * @param move
+     *            the packed move
+     * @return String the string representation
+     */
+    public static String toString( int move ){
+        String str = squareToString( getFrom( move ) )
+            + squareToString( getTo( move ) );
+        if ( isPromotion( move ) ){
+            str += getPromotion( move ) == PieceTypeEnum.KNIGHT
+                ? "n"
+                : getPromotion( move ).name().substring( 0, 1 ).toLowerCase();
+        }
+        return str;
+    }
+}
@@ -0,0 +1,187 @@
+package org.game.chess;
+
+import java.io.Serializable;
+import java.util.Arrays;
+// -------------------------------------------------------------------------
+/**
+ * A reusable list of packed moves (see game.Move), backed by an int array.
+ * Clearing the list keeps the array, so a list that is filled over and over
+ * stops allocating once it has grown to fit.
+ */
+public class MoveList implements Serializable {
+    private int[] moves;
+    private int   size;
+    // ----------------------------------------------------------
+    /**
+     * Create a new, empty game.MoveList.
+     */
+    public MoveList(){
+        this( 32 );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Create a new, empty game.MoveList.
+     *
+     * @param capacity
+     *            the number of moves it can hold before it has to grow
+     */
+    public MoveList( int capacity ){
+        moves = new int[Math.max( capacity, 1 )];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Create a new game.MoveList holding the same moves as another one.
+     *
+     * @param other
+     *            the list to copy
+     */
+    public MoveList( MoveList other ){
+        moves = Arrays.copyOf( other.moves, Math.max( other.size, 1 ) );
+        size = other.size;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds a move to the end of the list.
+     *
+     * @param move
+     *            the packed move
+     */
+    public void add( int move ){
+        if ( size == moves.length ){
+            moves = Arrays.copyOf( moves, moves.length * 2 );
+        }
+        moves[size++] = move;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the move at a position in the list.
+     *
+     * @param index
+     *            the index of the move
+     * @return int the packed move
+     */
+    public int get( int index ){
+        if ( index >= size ){
+            throw new IndexOutOfBoundsException( "Index " + index
+                + " is out of bounds for a list of " + size + " moves." );
+        }
+        return moves[index];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of moves in the list.
+     *
+     * @return int the number of moves
+     */
+    public int size(){
+        return size;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if the list holds no moves.
+     *
+     * @return boolean true if the list is empty
+     */
+    public boolean isEmpty(){
+        return size == 0;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Removes all moves, keeping the backing array for reuse.
+     */
+    public void clear(){
+        size = 0;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Swaps two moves, to reorder the list in place.
+     *
+     * @param first
+     *            the index of one move
+     * @param second
+     *            the index of the other move
+     */
+    public void swap( int first, int second ){
+        if ( first >= size || second >= size ){
+            throw new IndexOutOfBoundsException( "Index "
+                + Math.max( first, second ) + " is out of bounds for a list "
+                + "of " + size + " moves." );
+        }
+        int move = moves[first];
+        moves[first] = moves[second];
+        moves[second] = move;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if the list holds a move.
+     *
+     * @param move
+     *            the packed move
+     * @return boolean true if the move is in the list
+     */
+    public boolean contains( int move ){
+        for ( int i = 0; i < size; i++ ){
+            if ( moves[i] == move ){
+                return true;
+            }
+        }
+        return false;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Finds a move in the list.
+     *
+     * @param move
+     *            the packed move
+     * @return int the index of the move, or -1 if it is not in the list
+     */
+    public int indexOf( int move ){
+        for ( int i = 0; i < size; i++ ){
+            if ( moves[i] == move ){
+                return i;
+            }
+        }
+        return -1;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sorts the moves by their packed value, so the same moves are always in
+     * the same order, whatever order they were generated in.
+     */
+    public void sort(){
+        Arrays.sort( moves, 0, size );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Finds the first move that ends on the requested square.
+     *
+     * @param to
+     *            the square moved to
+     * @return int the index of the move, or -1 if there is none
+     */
+    public int indexOfTarget( int to ){
+        for ( int i = 0; i < size; i++ ){
+            if ( Move.getTo( moves[i] ) == to ){
+                return i;
+            }
+        }
+        return -1;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Returns the moves in coordinate notation, i.e. "[e2e3, e2e4]".
+     *
+     * @return String the string representation
+     */
+    @Override
+    public String toString(){
+        StringBuilder str = new StringBuilder( "[" );
+        for ( int i = 0; i < size; i++ ){
+            if ( i > 0 ){
+                str.append( ", " );
+            }
+            str.append( Move.toString( moves[i] ) );
+        }
+        return str.append( "]" ).toString();
+    }
+}
@@ -0,0 +1,191 @@
+package org.game.chess;
+
+import java.util.function.IntUnaryOperator;
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * Represents a game.Pawn game piece. Unique in that it can move two locations
+ * from its starting row, take another pawn en passant, and is promoted when it
+ * reaches the end of the board.
+ *
+ * @author Ben Katz (bakatz)
+ * @author Myles David II (davidmm2)
+ * @author Danielle Bushrow (dbushrow)
+ * @version 2010.11.17
+ */
+public class Pawn
+    extends ChessGamePiece{
+    /**
+     * The types a pawn may be promoted to. The queen comes first, so a move
+     * chosen by its target square alone promotes to a queen.
+     */
+    private static final PieceTypeEnum[] PROMOTIONS = { PieceTypeEnum.QUEEN,
+        PieceTypeEnum.ROOK, PieceTypeEnum.BISHOP, PieceTypeEnum.KNIGHT };
+    // ----------------------------------------------------------
+    /**
+     * Create a new game.Pawn object.
+     *
+     * @param board
+     *            the board to create the pawn on
+     * @param row
+     *            row of the pawn
+     * @param col
+     *            column of the pawn
+     * @param color
+     *            either GamePiece.WHITE, BLACK, or UNASSIGNED
+     */
+    public Pawn(ChessPosition board, int row, int col, PieceColorEnum color ){
+        super( board, row, col, color );
+    }
+    /**
+     * Calculates the possible moves for this piece. These are ALL the possible
+     * moves, including illegal (but at the same time valid) moves. Captures
+     * are the squares the pawn attacks (see game.Attacks) that hold an enemy
+     * piece.
+     *
+     * @param board
+     *            the game board to calculate moves on
+     * @param moves
+     *            the list to add the moves to
+     */
+    @Override
+    protected void calculatePossibleMoves( ChessPosition board, MoveList moves ){
+        if ( !isPieceOnScreen() ){
+            return;
+        }
+        boolean white = getColorOfPiece() == PieceColorEnum.WHITE;
+        int from = ChessPosition.square( pieceRow, pieceColumn );
+        int forward = white ? -8 : 8;
+        int oneStep = from + forward;
+        if ( oneStep < 0 || oneStep > 63 ){
+            return; // a pawn cannot stand on the last row, but be safe
+        }
+        long empty = ~board.getOccupancy();
+        if ( ( empty & ( 1L << oneStep ) ) != 0 ){
+            addPawnMove( board, moves, oneStep >> 3, oneStep & 7, 0 );
+            int twoSteps = oneStep + forward;
+            if ( pieceRow == ( white ? 6 : 1 )
+                && ( empty & ( 1L << twoSteps ) ) != 0 ){
+                addPawnMove( board, moves, twoSteps >> 3, twoSteps & 7,
+                    Move.DOUBLE_PUSH );
+            }
+        }
+        long attacks = Attacks.pawn( getColorOfPiece().ordinal(), from );
+        long captures = attacks & board.getOccupancy(
+            ChessPosition.opponent( getColorOfPiece() ) );
+        while ( captures != 0 ){
+            int to = Long.numberOfTrailingZeros( captures );
+            addPawnMove( board, moves, to >> 3, to & 7, 0 );
+            captures &= captures - 1;
+        }
+        // the pawn taken en passant is beside us, not on the target square
+        int epSquare = board.getEnPassantSquare();
+        if ( epSquare >= 0 && ( attacks & ( 1L << epSquare ) ) != 0
+            && isEnemy( board, pieceRow, epSquare & 7 ) ){
+            moves.add( Move.create(
+                from,
+                epSquare,
+                PieceTypeEnum.PAWN.ordinal(),
+                PieceTypeEnum.PAWN.ordinal(),
+                0,
+                Move.CAPTURE | Move.EN_PASSANT ) );
+        }
+    }
+    /**
+     * Calculates the possible moves for this piece by stepping from its
+     * location, to cross-check calculatePossibleMoves.
+     *
+     * @param board
+     *            the game board to calculate moves on
+     * @param moves
+     *            the list to add the moves to
+     */
+    @Override
+    void calculateWalkedMoves( ChessPosition board, MoveList moves ){
+        IntUnaryOperator navOp = PieceColorEnum.WHITE == this.getColorOfPiece() ?
+            x -> x -1 : x -> x+1;
+
+        if ( isPieceOnScreen() ){
+            int currRow = navOp.applyAsInt(pieceRow);
+            int count = 1;
+            int homeRow = PieceColorEnum.WHITE == this.getColorOfPiece() ? 6 : 1;
+            int maxIter = pieceRow == homeRow ? 2 : 1;
+            // check for normal moves
+            while ( count <= maxIter ){ // only loop while we have open slots and have not passed our
+                // limit
+                if ( isOnScreen( currRow, pieceColumn ) && board.isEmpty( currRow, pieceColumn ) ){
+                    addPawnMove( board, moves, currRow, pieceColumn,
+                        count == 2 ? Move.DOUBLE_PUSH : 0 );
+                }
+                else
+                {
+                    break;
+                }
+                currRow = navOp.applyAsInt(currRow);
+                count++;
+            }
+
+            if ( isEnemy( board, navOp.applyAsInt(pieceRow), pieceColumn - 1 ) ){
+                addPawnMove( board, moves, navOp.applyAsInt(pieceRow), pieceColumn - 1, 0 );
+            }
+            if ( isEnemy( board, navOp.applyAsInt(pieceRow), pieceColumn + 1 ) ){
+                addPawnMove( board, moves, navOp.applyAsInt(pieceRow), pieceColumn + 1, 0 );
+            }
+            // the pawn taken en passant is beside us, not on the target square
+            int epSquare = board.getEnPassantSquare();
+            if ( epSquare >= 0 && ( epSquare >> 3 ) == navOp.applyAsInt(pieceRow)
+                && Math.abs( ( epSquare & 7 ) - pieceColumn ) == 1
+                && isEnemy( board, pieceRow, epSquare & 7 ) ){
+                moves.add( Move.create(
+                    ChessPosition.square( pieceRow, pieceColumn ),
+                    epSquare,
+                    PieceTypeEnum.PAWN.ordinal(),
+                    PieceTypeEnum.PAWN.ordinal(),
+                    0,
+                    Move.CAPTURE | Move.EN_PASSANT ) );
+            }
+        }
+    }
+    /**
+     * Adds a pawn move to a list, or one move per promotion type if it
+     * reaches the end of the board.
+     *
+     * @param board
+     *            the game board the move is made on
+     * @param moves
+     *            the list to add the move to
+     * @param row
+     *            the row to move to
+     * @param col
+     *            the column to move to
+     * @param flags
+     *            any other flags of game.Move
+     */
+    private void addPawnMove(
+        ChessPosition board,
+        MoveList moves,
+        int row,
+        int col,
+        int flags ){
+        if ( row == 0 || row == 7 ){
+            for ( PieceTypeEnum type : PROMOTIONS ){
+                addMove( board, moves, row, col, type.ordinal(),
+                    flags | Move.PROMOTION );
+            }
+        }
+        else
+        {
+            addMove( board, moves, row, col, 0, flags );
+        }
+    }
+    /**
+     * Gets the type of this piece.
+     *
+     * @return PieceTypeEnum always PAWN
+     */
+    @Override
+    public PieceTypeEnum getPieceType(){
+        return PieceTypeEnum.PAWN;
+    }
+}
@@ -0,0 +1,355 @@
+package org.game.chess;
+
+import java.io.PrintStream;
+// -------------------------------------------------------------------------
+/**
+ * Counts the leaf nodes of the move tree below a position ("perft"), to check
+ * the move generation against published counts and to time it. Runs headless
+ * from the command line:
+ *
+ * <pre>
+ * java -cp chess-core.jar org.game.chess.Perft [fen|startpos] depth
+ * java -cp chess-core.jar org.game.chess.Perft --suite
+ * java -cp chess-core.jar org.game.chess.Perft --cross-check
+ * </pre>
+ *
+ * The first form prints the count below each root move ("divide"), followed
+ * by the total, the time taken and the nodes per second. The second form runs
+ * every reference position and exits with status 1 if any count is wrong, so
+ * any change to move generation can be proven to give identical results. The
+ * third walks the tree below every reference position and compares the moves
+ * every piece looks up with the moves it finds by walking the board (see
+ * ChessGamePiece.calculateWalkedMoves), exiting with status 1 if any differ.
+ */
+public final class Perft {
+    private static final int CROSS_CHECK_DEPTH = 3;
+
+    private static final ReferencePosition[] REFERENCE_POSITIONS = {
+        new ReferencePosition( "start position", Fen.START_POSITION, 5,
+            4865609L ),
+        new ReferencePosition( "kiwipete",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - "
+                + "0 1", 4, 4085603L ),
+        new ReferencePosition( "rook endgame",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 6, 11030083L ),
+        new ReferencePosition( "promotions",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            4, 422333L ),
+        new ReferencePosition( "promotions, mirrored",
+            "r2q1rk1/pP1p2pp/Q4n2/bbp1p3/Np6/1B3NBn/pPPP1PPP/R3K2R b KQ - 0 1",
+            4, 422333L ),
+        new ReferencePosition( "discovered checks",
+            "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 4,
+            2103487L ),
+        new ReferencePosition( "symmetrical middlegame",
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - "
+                + "- 0 10", 4, 3894594L ) };
+    // ----------------------------------------------------------
+    /**
+     * Not meant to be instantiated.
+     */
+    private Perft(){
+        // static helpers only
+    }
+    // ----------------------------------------------------------
+    /**
+     * Counts the leaf nodes 'depth' moves below a position. The position is
+     * left as it was.
+     *
+     * @param position
+     *            the position to start from
+     * @param depth
+     *            the number of moves to look ahead
+     * @return long the number of leaf nodes
+     */
+    public static long perft( ChessPosition position, int depth ){
+        return perft( position, depth, createMoveLists( depth ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Counts the leaf nodes 'depth' moves below a position, printing the count
+     * below each root move.
+     *
+     * @param position
+     *            the position to start from
+     * @param depth
+     *            the number of moves to look ahead, at least 1
+     * @param out
+     *            the stream to print the counts to
+     * @return long the total number of leaf nodes
+     */
+    public static long divide( ChessPosition position, int depth,
+        PrintStream out ){
+        MoveList[] moveLists = createMoveLists( depth );
+        MoveList moves = moveLists[depth];
+        position.generateLegalMoves( moves );
+        long nodes = 0;
+        for ( int i = 0; i < moves.size(); i++ ){
+            int move = moves.get( i );
+            position.makeMove( move );
+            long moveNodes = perft( position, depth - 1, moveLists );
+            position.unmakeMove();
+            out.println( Move.toString( move ) + ": " + moveNodes );
+            nodes += moveNodes;
+        }
+        return nodes;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Counts the leaf nodes below a position, reusing one move list per ply.
+     * The moves one ply above the leaves are counted rather than made, since
+     * they are all legal.
+     *
+     * @param position
+     *            the position to start from
+     * @param depth
+     *            the number of moves to look ahead
+     * @param moveLists
+     *            a move list for every depth
+     * @return long the number of leaf nodes
+     */
+    private static long perft( ChessPosition position, int depth,
+        MoveList[] moveLists ){
+        if ( depth == 0 ){
+            return 1;
+        }
+        MoveList moves = moveLists[depth];
+        moves.clear();
+        position.generateLegalMoves( moves );
+        if ( depth == 1 ){
+            return moves.size();
+        }
+        long nodes = 0;
+        for ( int i = 0; i < moves.size(); i++ ){
+            position.makeMove( moves.get( i ) );
+            nodes += perft( position, depth - 1, moveLists );
+            position.unmakeMove();
+        }
+        return nodes;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Creates the move lists used by one perft run.
+     *
+     * @param depth
+     *            the depth of the run
+     * @return MoveList[] one empty list for every depth from 0 to 'depth'
+     */
+    private static MoveList[] createMoveLists( int depth ){
+        MoveList[] moveLists = new MoveList[depth + 1];
+        for ( int i = 0; i <= depth; i++ ){
+            moveLists[i] = new MoveList( 64 );
+        }
+        return moveLists;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Runs every reference position and compares its count with the
+     * published one.
+     *
+     * @param out
+     *            the stream to print the results to
+     * @return boolean true if every count matched
+     */
+    public static boolean runSuite( PrintStream out ){
+        boolean passed = true;
+        long totalNodes = 0;
+        long totalTime = 0;
+        for ( ReferencePosition reference : REFERENCE_POSITIONS ){
+            ChessPosition position = Fen.load( reference.fen );
+            long start = System.nanoTime();
+            long nodes = perft( position, reference.depth );
+            long elapsed = System.nanoTime() - start;
+            boolean matched = nodes == reference.nodes;
+            passed &= matched;
+            totalNodes += nodes;
+            totalTime += elapsed;
+            out.println( ( matched ? "ok     " : "FAILED " ) + reference.name
+                + ", depth " + reference.depth + ": " + nodes
+                + ( matched ? "" : " (expected " + reference.nodes + ")" )
+                + ", " + ( elapsed / 1000000 ) + " ms" );
+        }
+        printTotals( out, totalNodes, totalTime );
+        return passed;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Walks the tree below every reference position and compares, for every
+     * piece in every position, the moves it generates with the moves it finds
+     * by walking the board.
+     *
+     * @param out
+     *            the stream to print the results to
+     * @return boolean true if the moves were the same everywhere
+     */
+    public static boolean runCrossCheck( PrintStream out ){
+        boolean passed = true;
+        MoveList[] moveLists = createMoveLists( CROSS_CHECK_DEPTH );
+        for ( ReferencePosition reference : REFERENCE_POSITIONS ){
+            int depth = Math.min( reference.depth, CROSS_CHECK_DEPTH );
+            long mismatches = crossCheck( Fen.load( reference.fen ), depth,
+                moveLists, new MoveList(), new MoveList() );
+            passed &= mismatches == 0;
+            out.println( ( mismatches == 0 ? "ok     " : "FAILED " )
+                + reference.name + ", depth " + depth
+                + ( mismatches == 0 ? "" : ": " + mismatches + " pieces "
+                    + "with different moves" ) );
+        }
+        return passed;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Compares the generated and walked moves of every piece in a position
+     * and in every position below it.
+     *
+     * @param position
+     *            the position to start from
+     * @param depth
+     *            the number of moves to look ahead
+     * @param moveLists
+     *            a move list for every depth
+     * @param generated
+     *            a list for the generated moves of one piece
+     * @param walked
+     *            a list for the walked moves of one piece
+     * @return long the number of pieces whose moves differed
+     */
+    private static long crossCheck( ChessPosition position, int depth,
+        MoveList[] moveLists, MoveList generated, MoveList walked ){
+        long mismatches = 0;
+        long pieces = position.getOccupancy();
+        while ( pieces != 0 ){
+            int sq = Long.numberOfTrailingZeros( pieces );
+            pieces &= pieces - 1;
+            ChessGamePiece piece = position.getPieceAt( sq >> 3, sq & 7 );
+            generated.clear();
+            walked.clear();
+            piece.calculatePossibleMoves( position, generated );
+            piece.calculateWalkedMoves( position, walked );
+            if ( !sameMoves( generated, walked ) ){
+                mismatches++;
+            }
+        }
+        if ( depth == 0 ){
+            return mismatches;
+        }
+        MoveList moves = moveLists[depth];
+        moves.clear();
+        position.generateLegalMoves( moves );
+        for ( int i = 0; i < moves.size(); i++ ){
+            position.makeMove( moves.get( i ) );
+            mismatches += crossCheck( position, depth - 1, moveLists,
+                generated, walked );
+            position.unmakeMove();
+        }
+        return mismatches;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if two lists hold the same moves, in any order.
+     *
+     * @param first
+     *            one list, without duplicates
+     * @param second
+     *            the other list, without duplicates
+     * @return boolean true if they hold the same moves
+     */
+    private static boolean sameMoves( MoveList first, MoveList second ){
+        if ( first.size() != second.size() ){
+            return false;
+        }
+        for ( int i = 0; i < first.size(); i++ ){
+            if ( !second.contains( first.get( i ) ) ){
+                return false;
+            }
+        }
+        return true;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Prints the node count, the time taken and the nodes per second.
+     *
+     * @param out
+     *            the stream to print to
+     * @param nodes
+     *            the number of nodes counted
+     * @param elapsedNanos
+     *            the time taken, in nanoseconds
+     */
+    private static void printTotals( PrintStream out, long nodes,
+        long elapsedNanos ){
+        long nodesPerSecond = elapsedNanos == 0
+            ? 0
+            : nodes * 1000000000L / elapsedNanos;
+        out.println( "Nodes:     " + nodes );
+        out.println( "Time:      " + ( elapsedNanos / 1000000 ) + " ms" );
+        out.println( "Nodes/sec: " + nodesPerSecond );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Runs perft from the command line. See the class comment for the
+     * arguments.
+     *
+     * @param args
+     *            either a FEN string (or "startpos") and a depth, or
+     *            "--suite" or "--cross-check"
+     */
+    public static void main( String[] args ){
+        if ( args.length == 1 && "--suite".equals( args[0] ) ){
+            System.exit( runSuite( System.out ) ? 0 : 1 );
+        }
+        if ( args.length == 1 && "--cross-check".equals( args[0] ) ){
+            System.exit( runCrossCheck( System.out ) ? 0 : 1 );
+        }
+        if ( args.length != 2 ){
+            System.err.println( "Usage: Perft [fen|startpos] depth" );
+            System.err.println( "       Perft --suite" );
+            System.err.println( "       Perft --cross-check" );
+            System.exit( 2 );
+        }
+        String fen = "startpos".equals( args[0] )
+            ? Fen.START_POSITION
+            : args[0];
+        int depth = Integer.parseInt( args[1] );
+        if ( depth < 1 ){
+            System.err.println( "The depth must be at least 1." );
+            System.exit( 2 );
+        }
+        ChessPosition position = Fen.load( fen );
+        long start = System.nanoTime();
+        long nodes = divide( position, depth, System.out );
+        long elapsed = System.nanoTime() - start;
+        System.out.println();
+        printTotals( System.out, nodes, elapsed );
+    }
+    // -------------------------------------------------------------------------
+    /**
+     * A position with a known perft count.
+     */
+    private static final class ReferencePosition {
+        private final String name;
+        private final String fen;
+        private final int    depth;
+        private final long   nodes;
+        // ----------------------------------------------------------
+        /**
+         * Create a new ReferencePosition.
+         *
+         * @param name
+         *            a short description of the position
+         * @param fen
+         *            the position in Forsyth-Edwards Notation
+         * @param depth
+         *            the depth the count was taken at
+         * @param nodes
+         *            the published number of leaf nodes
+         */
+        private ReferencePosition( String name, String fen, int depth,
+            long nodes ){
+            this.name = name;
+            this.fen = fen;
+            this.depth = depth;
+            this.nodes = nodes;
+        }
+    }
+}
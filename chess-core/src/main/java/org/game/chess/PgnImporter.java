@@ -0,0 +1,630 @@
+package org.game.chess;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+// -------------------------------------------------------------------------
+/**
+ * Reads a PGN file of any size and replays every game in it on a
+ * game.ChessPosition, checking each move against the rules.
+ * <p>
+ * The file is split into chunks of about CHUNK_BYTES, each starting at the
+ * first tag line of a game, and the chunks are memory-mapped and replayed
+ * by a pool of threads. Each thread parses its chunk byte by byte with one
+ * position, one move list and one token buffer, so memory use does not
+ * depend on the size of the file or the number of games.
+ * <p>
+ * A move that is not legal, or that fits more than one legal move, stops
+ * the replay of its game. It is counted, and the first REPORTED_PROBLEMS
+ * are kept with their byte offset in the file.
+ */
+public class PgnImporter {
+    /**
+     * The number of problems kept for getProblems.
+     */
+    public static final int REPORTED_PROBLEMS = 100;
+
+    private static final long CHUNK_BYTES = 32L << 20;
+
+    private final Path          file;
+    private final int           threads;
+    private final LongAdder     games;
+    private final LongAdder     moves;
+    private final LongAdder     failedGames;
+    private final Queue<String> problems;
+    private final AtomicInteger problemCount;
+    private long                elapsedNanos;
+    // ----------------------------------------------------------
+    /**
+     * Create a new PgnImporter.
+     *
+     * @param file
+     *            the PGN file to read
+     * @param threads
+     *            the number of threads to replay games with, at least 1
+     */
+    public PgnImporter( Path file, int threads ){
+        if ( threads < 1 ){
+            throw new IllegalArgumentException( "An import needs at least one "
+                + "thread, not " + threads + "." );
+        }
+        this.file = file;
+        this.threads = threads;
+        games = new LongAdder();
+        moves = new LongAdder();
+        failedGames = new LongAdder();
+        problems = new ConcurrentLinkedQueue<>();
+        problemCount = new AtomicInteger();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Reads and replays the whole file. The counters add up over runs.
+     *
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public void run() throws IOException{
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool( threads,
+            new ImportThreadFactory() );
+        try ( FileChannel channel =
+            FileChannel.open( file, StandardOpenOption.READ ) ){
+            List<Long> starts = findChunkStarts( channel );
+            List<Future<?>> chunks = new ArrayList<>( starts.size() );
+            for ( int i = 0; i < starts.size(); i++ ){
+                long chunkStart = starts.get( i );
+                long chunkEnd = i + 1 < starts.size()
+                    ? starts.get( i + 1 )
+                    : channel.size();
+                chunks.add( pool.submit( () -> {
+                    new ChunkReader( map( channel, chunkStart, chunkEnd ),
+                        chunkStart ).read();
+                    return null;
+                } ) );
+            }
+            waitFor( chunks );
+        }
+        finally
+        {
+            pool.shutdownNow();
+            elapsedNanos += System.nanoTime() - start;
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Waits for the chunks to be read, passing on the first failure.
+     *
+     * @param chunks
+     *            the chunk tasks
+     * @throws IOException
+     *             if a chunk could not be read
+     */
+    private static void waitFor( List<Future<?>> chunks ) throws IOException{
+        try {
+            for ( Future<?> chunk : chunks ){
+                chunk.get();
+            }
+        }
+        catch ( InterruptedException e ){
+            Thread.currentThread().interrupt();
+            throw new IOException( "The import was interrupted.", e );
+        }
+        catch ( ExecutionException e ){
+            Throwable cause = e.getCause();
+            if ( cause instanceof IOException ){
+                throw (IOException)cause;
+            }
+            if ( cause instanceof RuntimeException ){
+                throw (RuntimeException)cause;
+            }
+            throw new IllegalStateException( cause );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Splits the file into chunks that each start at the first tag line of
+     * a game. A stretch of the file without a game start is left to the
+     * chunk before it.
+     *
+     * @param channel
+     *            the open file
+     * @return List<Long> the offsets the chunks start at, the first being 0
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    private static List<Long> findChunkStarts( FileChannel channel )
+        throws IOException{
+        long size = channel.size();
+        List<Long> starts = new ArrayList<>();
+        starts.add( 0L );
+        for ( long nominal = CHUNK_BYTES; nominal < size;
+            nominal += CHUNK_BYTES ){
+            MappedByteBuffer window = map( channel, nominal,
+                Math.min( size, nominal + CHUNK_BYTES ) );
+            int gameStart = findGameStart( window );
+            if ( gameStart >= 0 ){
+                starts.add( nominal + gameStart );
+            }
+        }
+        return starts;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Finds the first tag line of a game in a buffer: a line that starts
+     * with '[' after a line that does not. The line the buffer starts in is
+     * skipped, since its start is not known.
+     *
+     * @param buffer
+     *            the bytes to search
+     * @return int the index of the '[', or -1 if there is none
+     */
+    private static int findGameStart( MappedByteBuffer buffer ){
+        int limit = buffer.limit();
+        int i = 0;
+        while ( i < limit && buffer.get( i ) != '\n' ){
+            i++;
+        }
+        boolean previousIsTag = true;
+        for ( i++; i < limit; i++ ){
+            byte b = buffer.get( i );
+            if ( b == '[' && !previousIsTag ){
+                return i;
+            }
+            previousIsTag = b == '[';
+            while ( i < limit && buffer.get( i ) != '\n' ){
+                i++;
+            }
+        }
+        return -1;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Maps part of the file into memory.
+     *
+     * @param channel
+     *            the open file
+     * @param start
+     *            the first byte
+     * @param end
+     *            the byte after the last
+     * @return MappedByteBuffer the bytes
+     * @throws IOException
+     *             if the part is too large to map or cannot be read
+     */
+    private static MappedByteBuffer map( FileChannel channel, long start,
+        long end ) throws IOException{
+        if ( end - start > Integer.MAX_VALUE ){
+            throw new IOException( "More than 2 GB without the start of a "
+                + "game at offset " + start + "." );
+        }
+        return channel.map( FileChannel.MapMode.READ_ONLY, start,
+            end - start );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Keeps a problem found in the file, if fewer than REPORTED_PROBLEMS
+     * have been kept.
+     *
+     * @param offset
+     *            the byte offset of the move in the file
+     * @param problem
+     *            what is wrong
+     * @param token
+     *            the move as written
+     */
+    private void report( long offset, String problem, CharSequence token ){
+        failedGames.increment();
+        if ( problemCount.incrementAndGet() <= REPORTED_PROBLEMS ){
+            problems.add( "offset " + offset + ": " + problem + " " + token );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of games read, including those with a problem.
+     *
+     * @return long the number of games
+     */
+    public long getGames(){
+        return games.sum();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of moves replayed.
+     *
+     * @return long the number of moves
+     */
+    public long getMoves(){
+        return moves.sum();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of games whose replay stopped at an illegal or
+     * ambiguous move.
+     *
+     * @return long the number of games
+     */
+    public long getFailedGames(){
+        return failedGames.sum();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the first problems found, in no particular order.
+     *
+     * @return List<String> at most REPORTED_PROBLEMS descriptions, each
+     *         with the byte offset of the move in the file
+     */
+    public List<String> getProblems(){
+        return new ArrayList<>( problems );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the time spent in run.
+     *
+     * @return long the time in milliseconds
+     */
+    public long getElapsedMillis(){
+        return elapsedNanos / 1000000;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of games replayed per second of run.
+     *
+     * @return long the speed
+     */
+    public long getGamesPerSecond(){
+        return elapsedNanos == 0
+            ? 0
+            : (long)( getGames() * 1e9 / elapsedNanos );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Prints the counts and the problems found.
+     *
+     * @param out
+     *            the stream to print to
+     */
+    public void printSummary( PrintStream out ){
+        for ( String problem : getProblems() ){
+            out.println( problem );
+        }
+        out.println( "Games:     " + getGames() );
+        out.println( "Failed:    " + getFailedGames() );
+        out.println( "Moves:     " + getMoves() );
+        out.println( "Time:      " + getElapsedMillis() + " ms" );
+        out.println( "Games/sec: " + getGamesPerSecond() );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Replays the games of a PGN file and prints the counts.
+     *
+     * @param args
+     *            the file, and optionally the number of threads (by default
+     *            one per core)
+     */
+    public static void main( String[] args ){
+        if ( args.length < 1 || args.length > 2 ){
+            System.err.println( "Usage: PgnImporter file.pgn [threads]" );
+            System.exit( 2 );
+        }
+        int threads = args.length > 1
+            ? Integer.parseInt( args[1] )
+            : Runtime.getRuntime().availableProcessors();
+        PgnImporter importer = new PgnImporter( Paths.get( args[0] ), threads );
+        try {
+            importer.run();
+        }
+        catch ( IOException e ){
+            System.err.println( "The file could not be read: "
+                + e.getMessage() );
+            System.exit( 1 );
+        }
+        importer.printSummary( System.out );
+        System.exit( importer.getFailedGames() == 0 ? 0 : 1 );
+    }
+    // -------------------------------------------------------------------------
+    /**
+     * Replays the games of one chunk of the file.
+     */
+    private final class ChunkReader {
+        private final MappedByteBuffer buffer;
+        private final long             offset;
+        private final ChessPosition    position;
+        private final MoveList         legalMoves;
+        private final StringBuilder    token;
+        private int                    index;
+        private boolean                inGame;
+        private boolean                failed;
+        private boolean                sawMoves;
+        // ----------------------------------------------------------
+        /**
+         * Create a new ChunkReader.
+         *
+         * @param buffer
+         *            the bytes of the chunk
+         * @param offset
+         *            the offset of the chunk in the file
+         */
+        private ChunkReader( MappedByteBuffer buffer, long offset ){
+            this.buffer = buffer;
+            this.offset = offset;
+            position = new ChessPosition();
+            legalMoves = new MoveList();
+            token = new StringBuilder( 16 );
+        }
+        // ----------------------------------------------------------
+        /**
+         * Reads the chunk to its end.
+         */
+        private void read(){
+            int limit = buffer.limit();
+            while ( index < limit ){
+                byte b = buffer.get( index );
+                if ( b == '[' ){
+                    readTag();
+                }
+                else if ( b == '{' ){
+                    skipPast( '}' );
+                }
+                else if ( b == ';' || ( b == '%' && isLineStart() ) ){
+                    skipPast( '\n' );
+                }
+                else if ( b == '(' ){
+                    skipVariation();
+                }
+                else if ( b <= ' ' || b == ')' || b == '}' || b == ']'
+                    || ( b & 0x80 ) != 0 ){
+                    // whitespace, stray closers and non-ASCII (a BOM)
+                    index++;
+                }
+                else
+                {
+                    readToken();
+                }
+            }
+            endGame();
+        }
+        // ----------------------------------------------------------
+        /**
+         * Reads a tag line. The first tag of a game starts it, and a FEN tag
+         * sets up its starting position.
+         */
+        private void readTag(){
+            if ( inGame && sawMoves ){
+                endGame(); // the game before had no result
+            }
+            if ( !inGame ){
+                startGame();
+            }
+            int start = index;
+            skipPast( '\n' );
+            if ( failed ){
+                return;
+            }
+            token.setLength( 0 );
+            for ( int i = start; i < index; i++ ){
+                token.append( (char)( buffer.get( i ) & 0xff ) );
+            }
+            String line = token.toString().trim();
+            if ( line.startsWith( "[FEN " ) && line.endsWith( "\"]" ) ){
+                int quote = line.indexOf( '"' );
+                try {
+                    Fen.load( position,
+                        line.substring( quote + 1, line.length() - 2 ) );
+                }
+                catch ( RuntimeException e ){
+                    failed = true;
+                    report( offset + start, "bad FEN", line );
+                }
+            }
+        }
+        // ----------------------------------------------------------
+        /**
+         * Reads a move, move number or result.
+         */
+        private void readToken(){
+            int start = index;
+            token.setLength( 0 );
+            int limit = buffer.limit();
+            while ( index < limit ){
+                byte b = buffer.get( index );
+                if ( b <= ' ' || b == '{' || b == '(' || b == ')' || b == ';'
+                    || b == '[' || ( b == '$' && token.length() > 0 ) ){
+                    break;
+                }
+                token.append( (char)b );
+                index++;
+            }
+            if ( token.charAt( 0 ) == '$' ){
+                return; // a numeric annotation glyph
+            }
+            if ( isResult() ){
+                endGame();
+                return;
+            }
+            int dot = lastIndexOf( '.' );
+            if ( dot >= 0 ){
+                token.delete( 0, dot + 1 ); // "12." or "12...e5"
+                start += dot + 1;
+                if ( token.length() == 0 ){
+                    return;
+                }
+            }
+            if ( !inGame ){
+                startGame();
+            }
+            sawMoves = true;
+            if ( failed ){
+                return;
+            }
+            try {
+                legalMoves.clear();
+                position.generateLegalMoves( legalMoves );
+                int move = San.parse( token, legalMoves );
+                if ( move == Move.NONE || move == San.AMBIGUOUS ){
+                    failed = true;
+                    report( offset + start, move == Move.NONE
+                        ? "illegal move"
+                        : "ambiguous move", token );
+                    return;
+                }
+                position.commitMove( move );
+            }
+            catch ( RuntimeException e ){
+                // a position the rules cannot play on fails only this game;
+                // the next one sets the position up afresh
+                failed = true;
+                report( offset + start, "move cannot be played", token );
+                return;
+            }
+            moves.increment();
+        }
+        // ----------------------------------------------------------
+        /**
+         * Skips a variation, with any variations and comments inside it.
+         */
+        private void skipVariation(){
+            int depth = 0;
+            int limit = buffer.limit();
+            while ( index < limit ){
+                byte b = buffer.get( index );
+                if ( b == '{' ){
+                    skipPast( '}' );
+                    continue;
+                }
+                index++;
+                if ( b == '(' ){
+                    depth++;
+                }
+                else if ( b == ')' && --depth == 0 ){
+                    return;
+                }
+            }
+        }
+        // ----------------------------------------------------------
+        /**
+         * Moves past the next occurrence of a byte, or to the end of the
+         * chunk.
+         *
+         * @param end
+         *            the byte to stop after
+         */
+        private void skipPast( char end ){
+            int limit = buffer.limit();
+            while ( index < limit && buffer.get( index++ ) != end ){
+                // skip
+            }
+        }
+        // ----------------------------------------------------------
+        /**
+         * Checks if the current byte is the first of its line.
+         *
+         * @return boolean true at the start of a line
+         */
+        private boolean isLineStart(){
+            return index == 0 || buffer.get( index - 1 ) == '\n';
+        }
+        // ----------------------------------------------------------
+        /**
+         * Checks if the token is a game result.
+         *
+         * @return boolean true for "1-0", "0-1", "1/2-1/2" and "*"
+         */
+        private boolean isResult(){
+            return contentEquals( "1-0" ) || contentEquals( "0-1" )
+                || contentEquals( "1/2-1/2" ) || contentEquals( "*" );
+        }
+        // ----------------------------------------------------------
+        /**
+         * Compares the token with a string without allocating.
+         *
+         * @param text
+         *            the string
+         * @return boolean true if they hold the same characters
+         */
+        private boolean contentEquals( String text ){
+            if ( token.length() != text.length() ){
+                return false;
+            }
+            for ( int i = 0; i < text.length(); i++ ){
+                if ( token.charAt( i ) != text.charAt( i ) ){
+                    return false;
+                }
+            }
+            return true;
+        }
+        // ----------------------------------------------------------
+        /**
+         * Finds the last occurrence of a character in the token.
+         *
+         * @param c
+         *            the character
+         * @return int its index, or -1
+         */
+        private int lastIndexOf( char c ){
+            for ( int i = token.length() - 1; i >= 0; i-- ){
+                if ( token.charAt( i ) == c ){
+                    return i;
+                }
+            }
+            return -1;
+        }
+        // ----------------------------------------------------------
+        /**
+         * Sets up the standard starting position for a new game.
+         */
+        private void startGame(){
+            position.initializeBoard();
+            inGame = true;
+            failed = false;
+            sawMoves = false;
+        }
+        // ----------------------------------------------------------
+        /**
+         * Counts the game that has ended, if one was started.
+         */
+        private void endGame(){
+            if ( inGame ){
+                games.increment();
+            }
+            inGame = false;
+        }
+    }
+    // -------------------------------------------------------------------------
+    /**
+     * Creates the daemon threads of the import pool.
+     */
+    private static final class ImportThreadFactory
+        implements ThreadFactory {
+        private final AtomicInteger created = new AtomicInteger();
+        // ----------------------------------------------------------
+        /**
+         * Creates a thread named "pgn-import-n".
+         *
+         * @param task
+         *            what the thread runs
+         * @return Thread the new thread, not started
+         */
+        @Override
+        public Thread newThread( Runnable task ){
+            Thread thread = new Thread( task,
+                "pgn-import-" + created.incrementAndGet() );
+            thread.setDaemon( true );
+            return thread;
+        }
+    }
+}
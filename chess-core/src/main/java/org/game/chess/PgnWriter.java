@@ -0,0 +1,174 @@
+package org.game.chess;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import org.game.chess.enums.PieceColorEnum;
+// -------------------------------------------------------------------------
+/**
+ * Writes game records (see game.GameRecord) as PGN, one game after another,
+ * to a stream. Each game is written out as soon as writeGame is called and
+ * nothing of it is kept, so any number of games can go to one file. A game
+ * with an illegal move is not written at all.
+ * <p>
+ * Games are written in the export format of the PGN standard: the tags, a
+ * blank line, the moves in SAN with move numbers, wrapped before 80
+ * characters, and the result.
+ */
+public class PgnWriter implements Closeable, Flushable {
+    private static final int LINE_LENGTH = 79;
+
+    private final Writer        out;
+    private final MoveList      legalMoves;
+    private final StringBuilder text;
+    private int                 lineStart;
+    private long                gamesWritten;
+    // ----------------------------------------------------------
+    /**
+     * Create a new PgnWriter.
+     *
+     * @param out
+     *            the stream to write to; it is buffered if it is not already
+     */
+    public PgnWriter( Writer out ){
+        this.out = out instanceof BufferedWriter
+            ? out
+            : new BufferedWriter( out );
+        legalMoves = new MoveList();
+        text = new StringBuilder( 1024 );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Opens a PGN file for appending games, creating it if needed.
+     *
+     * @param file
+     *            the file to write to
+     * @return PgnWriter a writer that appends to the file in UTF-8
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    public static PgnWriter append( Path file ) throws IOException{
+        return new PgnWriter( Files.newBufferedWriter( file,
+            StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND ) );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Writes a game: its tags, its moves and its result.
+     *
+     * @param record
+     *            the game
+     * @throws IOException
+     *             if writing fails
+     * @throws IllegalArgumentException
+     *             if a move of the game is not legal where it is played
+     */
+    public void writeGame( GameRecord record ) throws IOException{
+        text.setLength( 0 );
+        for ( Map.Entry<String, String> tag : record.getTags().entrySet() ){
+            text.append( '[' ).append( tag.getKey() ).append( " \"" )
+                .append( escape( tag.getValue() ) ).append( "\"]\n" );
+        }
+        text.append( '\n' );
+        lineStart = text.length();
+        ChessPosition position = record.getStartPosition();
+        int moveNumber = position.getFullmoveNumber();
+        for ( int i = 0; i < record.getMoveCount(); i++ ){
+            int move = record.getMove( i );
+            boolean white = position.getSideToMove() == PieceColorEnum.WHITE;
+            if ( white ){
+                writeToken( moveNumber + "." );
+            }
+            else if ( i == 0 ){
+                writeToken( moveNumber + "..." );
+            }
+            legalMoves.clear();
+            position.generateLegalMoves( legalMoves );
+            if ( !legalMoves.contains( move ) ){
+                throw new IllegalArgumentException( "Move " + ( i + 1 )
+                    + " of the game, " + Move.toString( move )
+                    + ", is not legal." );
+            }
+            writeToken( San.toString( position, move ) );
+            position.commitMove( move );
+            if ( !white ){
+                moveNumber++;
+            }
+        }
+        writeToken( record.getResult() );
+        text.append( "\n\n" );
+        out.append( text );
+        gamesWritten++;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds a token to the move text, starting a new line if the token does
+     * not fit on the current one.
+     *
+     * @param token
+     *            a move number, move or result
+     */
+    private void writeToken( String token ){
+        int lineLength = text.length() - lineStart;
+        if ( lineLength > 0 ){
+            if ( lineLength + 1 + token.length() > LINE_LENGTH ){
+                text.append( '\n' );
+                lineStart = text.length();
+            }
+            else
+            {
+                text.append( ' ' );
+            }
+        }
+        text.append( token );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Escapes a tag value for a PGN string.
+     *
+     * @param value
+     *            the tag value
+     * @return String the value with backslashes and quotes escaped
+     */
+    private static String escape( String value ){
+        return value.replace( "\\", "\\\\" ).replace( "\"", "\\\"" );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of games written so far.
+     *
+     * @return long the number of games
+     */
+    public long getGamesWritten(){
+        return gamesWritten;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Writes out any buffered games.
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    @Override
+    public void flush() throws IOException{
+        out.flush();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Writes out any buffered games and closes the stream.
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    @Override
+    public void close() throws IOException{
+        out.close();
+    }
+}
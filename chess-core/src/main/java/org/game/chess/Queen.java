@@ -0,0 +1,66 @@
+package org.game.chess;
+
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * Represents a game.Queen game piece.
+ *
+ * @author Ben Katz (bakatz)
+ * @author Myles David II (davidmm2)
+ * @author Danielle Bushrow (dbushrow)
+ * @version 2010.11.17
+ */
+public class Queen
+    extends AllDirections {
+    // ----------------------------------------------------------
+    /**
+     * Create a new game.Queen object.
+     *
+     * @param board
+     *            the board the queen is on
+     * @param row
+     *            the row location of the queen
+     * @param col
+     *            the column location of the queen
+     * @param color
+     *            either GamePiece.WHITE, BLACK, or UNASSIGNED
+     */
+    public Queen(ChessPosition board, int row, int col, PieceColorEnum color ){
+        super( board, row, col, color );
+    }
+    /**
+     * Calculates the possible moves for this game.Queen, looking up the
+     * squares it attacks in game.Attacks.
+     * @param board the board to check on
+     * @param moves the list to add the moves to
+     */
+    @Override
+    protected void calculatePossibleMoves( ChessPosition board, MoveList moves ){
+        if ( isPieceOnScreen() ){
+            addMoves( board, moves,
+                Attacks.queen( ChessPosition.square( pieceRow, pieceColumn ),
+                    board.getOccupancy() )
+                    & ~board.getOccupancy( getColorOfPiece() ) );
+        }
+    }
+    /**
+     * Calculates the possible moves for this game.Queen by walking all eight
+     * directions, to cross-check calculatePossibleMoves.
+     * @param board the board to check on
+     * @param moves the list to add the moves to
+     */
+    @Override
+    void calculateWalkedMoves( ChessPosition board, MoveList moves ){
+        super.calculatePossibleMoves(board, 8, moves);
+    }
+    /**
+     * Gets the type of this piece.
+     *
+     * @return PieceTypeEnum always QUEEN
+     */
+    @Override
+    public PieceTypeEnum getPieceType(){
+        return PieceTypeEnum.QUEEN;
+    }
+}
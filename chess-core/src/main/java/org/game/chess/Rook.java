@@ -0,0 +1,68 @@
+package org.game.chess;
+
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * Represents a game.Rook game piece.
+ *
+ * @author Ben Katz (bakatz)
+ * @author Myles David II (davidmm2)
+ * @author Danielle Bushrow (dbushrow)
+ * @version 2010.11.17
+ */
+public class Rook extends ChessGamePiece{
+	// ----------------------------------------------------------
+	/**
+	 * Create a new game.Rook object.
+	 *
+	 * @param board
+	 *            the board to create the rook on
+	 * @param row
+	 *            the row to create the rook on
+	 * @param col
+	 *            the column to create the rook on
+	 * @param color
+	 *            either GamePiece.WHITE, BLACK, or UNASSIGNED
+	 */
+	public Rook(ChessPosition board, int row, int col, PieceColorEnum color ){
+		super( board, row, col, color );
+	}
+	/**
+	 * Calculates the possible moves for this game.Rook, looking up the
+	 * squares it attacks in game.Attacks.
+	 * @param board the board to check on
+	 * @param moves the list to add the moves to
+	 */
+	@Override
+	protected void calculatePossibleMoves( ChessPosition board, MoveList moves ){
+		if ( isPieceOnScreen() ){
+			addMoves( board, moves,
+				Attacks.rook( ChessPosition.square( pieceRow, pieceColumn ),
+					board.getOccupancy() )
+					& ~board.getOccupancy( getColorOfPiece() ) );
+		}
+	}
+	/**
+	 * Calculates the possible moves for this game.Rook by walking each
+	 * direction, to cross-check calculatePossibleMoves.
+	 * @param board the board to check on
+	 * @param moves the list to add the moves to
+	 */
+	@Override
+	void calculateWalkedMoves( ChessPosition board, MoveList moves ){
+		calculateNorthMoves( board, 8, moves );
+		calculateSouthMoves( board, 8, moves );
+		calculateWestMoves( board, 8, moves );
+		calculateEastMoves( board, 8, moves );
+	}
+	/**
+	 * Gets the type of this piece.
+	 *
+	 * @return PieceTypeEnum always ROOK
+	 */
+	@Override
+	public PieceTypeEnum getPieceType(){
+		return PieceTypeEnum.ROOK;
+	}
+}
@@ -0,0 +1,103 @@
+package org.game.chess;
+
+import java.io.Closeable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+// -------------------------------------------------------------------------
+/**
+ * Runs rule computations, such as finding legal moves or playing a move and
+ * checking for the end of the game, on one background thread, and hands
+ * each result to a publisher, such as the Swing event queue.
+ * <p>
+ * Computations run one at a time in the order they are submitted, so a game
+ * whose engine and position are only used from here needs no locking. The
+ * thread is a daemon, so it does not keep the program running.
+ */
+public class RuleExecutor implements Closeable {
+    private final ExecutorService worker;
+    private final Executor        publisher;
+    // ----------------------------------------------------------
+    /**
+     * Create a new RuleExecutor.
+     *
+     * @param publisher
+     *            runs the handlers of the results, i.e. EventQueue::invokeLater
+     *            to handle them on the Event Dispatch Thread
+     */
+    public RuleExecutor( Executor publisher ){
+        this.publisher = publisher;
+        worker = Executors.newSingleThreadExecutor( task -> {
+            Thread thread = new Thread( task, "chess-rules" );
+            thread.setDaemon( true );
+            return thread;
+        } );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Queues a computation. When it is done its result is handed to the
+     * handler on the publisher. If it fails, the failure is thrown on the
+     * publisher instead, as if the computation had run there.
+     *
+     * @param <T>
+     *            the type of the result
+     * @param rule
+     *            the computation
+     * @param onResult
+     *            the handler of the result
+     * @return Future<T> the result, which also allows the computation to be
+     *         cancelled while it is still queued
+     */
+    public <T> Future<T> submit( Callable<T> rule,
+        Consumer<? super T> onResult ){
+        return submit( rule, onResult, failure -> {
+            throw new IllegalStateException( "A rule computation failed.",
+                failure );
+        } );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Queues a computation. When it is done either its result is handed to
+     * the result handler or, if it failed, the failure is handed to the
+     * failure handler, on the publisher.
+     *
+     * @param <T>
+     *            the type of the result
+     * @param rule
+     *            the computation
+     * @param onResult
+     *            the handler of the result
+     * @param onFailure
+     *            the handler of a failure
+     * @return Future<T> the result, which also allows the computation to be
+     *         cancelled while it is still queued
+     */
+    public <T> Future<T> submit( Callable<T> rule,
+        Consumer<? super T> onResult,
+        Consumer<? super Throwable> onFailure ){
+        return worker.submit( () -> {
+            T result;
+            try {
+                result = rule.call();
+            }
+            catch ( Exception | Error e ){
+                publisher.execute( () -> onFailure.accept( e ) );
+                throw e;
+            }
+            publisher.execute( () -> onResult.accept( result ) );
+            return result;
+        } );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Stops the thread. Queued computations are dropped, and the one that
+     * is running is interrupted.
+     */
+    @Override
+    public void close(){
+        worker.shutdownNow();
+    }
+}
@@ -0,0 +1,247 @@
+package org.game.chess;
+
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * Standard Algebraic Notation, as used in PGN: "e4", "Nbd7", "exd5",
+ * "O-O", "e8=Q+", "Qxf7#". A move only has a SAN in a position, since the
+ * piece letter and the square it moves to must be told apart from the other
+ * legal moves.
+ */
+public final class San {
+    /**
+     * What parse returns for a SAN that fits more than one legal move.
+     */
+    public static final int AMBIGUOUS = -1;
+
+    private static final String          PIECE_LETTERS = "PNBRQK";
+    private static final String          SUFFIXES      = "+#!?";
+    private static final PieceTypeEnum[] TYPES         = PieceTypeEnum.values();
+    // ----------------------------------------------------------
+    /**
+     * Not meant to be instantiated.
+     */
+    private San(){
+        // static helpers only
+    }
+    // ----------------------------------------------------------
+    /**
+     * Writes a move in SAN, including the check or mate suffix. The move is
+     * made and taken back to find the suffix, so the position is unchanged
+     * afterwards.
+     *
+     * @param position
+     *            the position the move is played in
+     * @param move
+     *            a legal move in that position (see game.Move)
+     * @return String the move in SAN
+     */
+    public static String toString( ChessPosition position, int move ){
+        StringBuilder san = new StringBuilder( 8 );
+        PieceTypeEnum piece = Move.getPiece( move );
+        int from = Move.getFrom( move );
+        int to = Move.getTo( move );
+        if ( Move.isCastle( move ) ){
+            san.append( ( to & 7 ) == 6 ? "O-O" : "O-O-O" );
+        }
+        else if ( piece == PieceTypeEnum.PAWN ){
+            if ( Move.isCapture( move ) ){
+                san.append( (char)( 'a' + ( from & 7 ) ) ).append( 'x' );
+            }
+            san.append( Move.squareToString( to ) );
+            if ( Move.isPromotion( move ) ){
+                san.append( '=' )
+                    .append( getLetter( Move.getPromotion( move ) ) );
+            }
+        }
+        else
+        {
+            san.append( getLetter( piece ) );
+            appendDisambiguation( san, position, move );
+            if ( Move.isCapture( move ) ){
+                san.append( 'x' );
+            }
+            san.append( Move.squareToString( to ) );
+        }
+        PieceColorEnum mover = position.getSideToMove();
+        position.makeMove( move );
+        PieceColorEnum opponent = ChessPosition.opponent( mover );
+        if ( position.isInCheck( opponent ) ){
+            san.append( position.hasLegalMoves( opponent ) ? '+' : '#' );
+        }
+        position.unmakeMove();
+        return san.toString();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Finds the legal move a SAN stands for. Check and mate suffixes and
+     * annotations such as "!?" are ignored, castling may be written with
+     * zeros, and the square moved from may be given in full ("Ng1f3" or
+     * "Ng1-f3"). Nothing is allocated.
+     *
+     * @param san
+     *            the move in SAN
+     * @param legalMoves
+     *            the legal moves of the position it is played in
+     * @return int the packed move (see game.Move), game.Move.NONE if no
+     *         legal move fits, or AMBIGUOUS if more than one does
+     */
+    public static int parse( CharSequence san, MoveList legalMoves ){
+        int end = san.length();
+        while ( end > 0 && SUFFIXES.indexOf( san.charAt( end - 1 ) ) >= 0 ){
+            end--;
+        }
+        int castle = castlingColumn( san, end );
+        if ( castle >= 0 ){
+            return findCastle( castle, legalMoves );
+        }
+        int start = 0;
+        PieceTypeEnum piece = PieceTypeEnum.PAWN;
+        if ( end > 0 && PIECE_LETTERS.indexOf( san.charAt( 0 ) ) > 0 ){
+            piece = TYPES[PIECE_LETTERS.indexOf( san.charAt( 0 ) )];
+            start = 1;
+        }
+        PieceTypeEnum promotion = null;
+        if ( piece == PieceTypeEnum.PAWN && end > 2
+            && "NBRQ".indexOf( san.charAt( end - 1 ) ) >= 0 ){
+            promotion = TYPES[PIECE_LETTERS.indexOf( san.charAt( end - 1 ) )];
+            end -= san.charAt( end - 2 ) == '=' ? 2 : 1;
+        }
+        if ( end - start < 2 ){
+            return Move.NONE;
+        }
+        int toCol = san.charAt( end - 2 ) - 'a';
+        int toRow = '8' - san.charAt( end - 1 );
+        if ( !ChessPosition.isOnBoard( toRow, toCol ) ){
+            return Move.NONE;
+        }
+        int fromCol = -1;
+        int fromRow = -1;
+        for ( int i = start; i < end - 2; i++ ){
+            char c = san.charAt( i );
+            if ( c >= 'a' && c <= 'h' ){
+                fromCol = c - 'a';
+            }
+            else if ( c >= '1' && c <= '8' ){
+                fromRow = '8' - c;
+            }
+            else if ( c != 'x' && c != ':' && c != '-' ){
+                return Move.NONE;
+            }
+        }
+        int to = ChessPosition.square( toRow, toCol );
+        int found = Move.NONE;
+        for ( int i = 0; i < legalMoves.size(); i++ ){
+            int move = legalMoves.get( i );
+            if ( Move.getTo( move ) != to || Move.getPiece( move ) != piece
+                || Move.isCastle( move )
+                || ( fromCol >= 0 && Move.getFromColumn( move ) != fromCol )
+                || ( fromRow >= 0 && Move.getFromRow( move ) != fromRow )
+                || ( Move.isPromotion( move )
+                    ? Move.getPromotion( move ) != promotion
+                    : promotion != null ) ){
+                continue;
+            }
+            if ( found != Move.NONE ){
+                return AMBIGUOUS;
+            }
+            found = move;
+        }
+        return found;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if a SAN is a castling move, "O-O" or "O-O-O", also written
+     * with zeros.
+     *
+     * @param san
+     *            the move in SAN
+     * @param end
+     *            the length of the SAN without suffixes
+     * @return int the column the king castles to, or -1 if it is not a
+     *         castling move
+     */
+    private static int castlingColumn( CharSequence san, int end ){
+        if ( end != 3 && end != 5 ){
+            return -1;
+        }
+        for ( int i = 0; i < end; i++ ){
+            char c = san.charAt( i );
+            boolean dash = i % 2 == 1;
+            if ( dash ? c != '-' : c != 'O' && c != '0' ){
+                return -1;
+            }
+        }
+        return end == 3 ? 6 : 2;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Finds the legal castling move to a column.
+     *
+     * @param column
+     *            the column the king castles to
+     * @param legalMoves
+     *            the legal moves
+     * @return int the packed move, or game.Move.NONE if castling that way is
+     *         not legal
+     */
+    private static int findCastle( int column, MoveList legalMoves ){
+        for ( int i = 0; i < legalMoves.size(); i++ ){
+            int move = legalMoves.get( i );
+            if ( Move.isCastle( move ) && Move.getToColumn( move ) == column ){
+                return move;
+            }
+        }
+        return Move.NONE;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the SAN letter of a piece type.
+     *
+     * @param type
+     *            the piece type
+     * @return char the upper-case letter, 'P' for a pawn
+     */
+    public static char getLetter( PieceTypeEnum type ){
+        return PIECE_LETTERS.charAt( type.ordinal() );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds the file, rank or square moved from when another piece of the
+     * same type can also move to the same square: the file if that tells
+     * them apart, else the rank, else both.
+     *
+     * @param san
+     *            the SAN being built
+     * @param position
+     *            the position the move is played in
+     * @param move
+     *            the move
+     */
+    private static void appendDisambiguation( StringBuilder san,
+        ChessPosition position, int move ){
+        MoveList legalMoves = new MoveList();
+        position.generateLegalMoves( legalMoves );
+        int from = Move.getFrom( move );
+        boolean ambiguous = false;
+        boolean sameFile = false;
+        boolean sameRank = false;
+        for ( int i = 0; i < legalMoves.size(); i++ ){
+            int other = legalMoves.get( i );
+            int otherFrom = Move.getFrom( other );
+            if ( otherFrom != from && Move.getTo( other ) == Move.getTo( move )
+                && Move.getPiece( other ) == Move.getPiece( move ) ){
+                ambiguous = true;
+                sameFile |= ( otherFrom & 7 ) == ( from & 7 );
+                sameRank |= ( otherFrom >> 3 ) == ( from >> 3 );
+            }
+        }
+        if ( ambiguous && ( !sameFile || sameRank ) ){
+            san.append( (char)( 'a' + ( from & 7 ) ) );
+        }
+        if ( ambiguous && sameFile ){
+            san.append( (char)( '8' - ( from >> 3 ) ) );
+        }
+    }
+}
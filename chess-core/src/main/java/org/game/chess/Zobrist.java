@@ -0,0 +1,105 @@
+package org.game.chess;
+
+// -------------------------------------------------------------------------
+/**
+ * The random keys behind the 64-bit position hash kept by game.ChessPosition.
+ * A position's hash is the XOR of the key of every piece on its square, the
+ * side key if black is to move, the key of the castling rights left and the
+ * key of the en passant file, if any. Moving, capturing or promoting a piece
+ * therefore changes the hash by a couple of XORs.
+ * <p>
+ * The keys come from a fixed seed, so a position hashes the same in every
+ * run and hashes may be stored.
+ */
+public final class Zobrist {
+    /**
+     * The key XORed in while black is to move.
+     */
+    public static final long SIDE;
+
+    private static final long[] PIECES     = new long[2 * 6 * 64];
+    private static final long[] CASTLING   = new long[16];
+    private static final long[] EN_PASSANT = new long[8];
+    static {
+        long[] state = { 0x2545F4914F6CDD1DL };
+        for ( int i = 0; i < PIECES.length; i++ ){
+            PIECES[i] = nextKey( state );
+        }
+        // one key per right; a set of rights is the XOR of its keys
+        long[] rights = new long[4];
+        for ( int i = 0; i < rights.length; i++ ){
+            rights[i] = nextKey( state );
+        }
+        for ( int i = 0; i < CASTLING.length; i++ ){
+            for ( int right = 0; right < rights.length; right++ ){
+                if ( ( i & ( 1 << right ) ) != 0 ){
+                    CASTLING[i] ^= rights[right];
+                }
+            }
+        }
+        for ( int i = 0; i < EN_PASSANT.length; i++ ){
+            EN_PASSANT[i] = nextKey( state );
+        }
+        SIDE = nextKey( state );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Not meant to be instantiated.
+     */
+    private Zobrist(){
+        // static helpers only
+    }
+    // ----------------------------------------------------------
+    /**
+     * Draws the next key from a SplitMix64 sequence. The generator is written
+     * out here rather than taken from java.util so the keys can never change
+     * between Java versions.
+     *
+     * @param state
+     *            the one-element state of the sequence, advanced in place
+     * @return long the next key
+     */
+    private static long nextKey( long[] state ){
+        long z = ( state[0] += 0x9E3779B97F4A7C15L );
+        z = ( z ^ ( z >>> 30 ) ) * 0xBF58476D1CE4E5B9L;
+        z = ( z ^ ( z >>> 27 ) ) * 0x94D049BB133111EBL;
+        return z ^ ( z >>> 31 );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the key of a piece on a square.
+     *
+     * @param color
+     *            the color index of the piece (PieceColorEnum ordinal)
+     * @param type
+     *            the type of the piece (PieceTypeEnum ordinal)
+     * @param square
+     *            the square index
+     * @return long the key
+     */
+    public static long piece( int color, int type, int square ){
+        return PIECES[( ( color * 6 + type ) << 6 ) | square];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the key of a set of castling rights.
+     *
+     * @param castlingRights
+     *            any combination of the castling rights of game.ChessPosition
+     * @return long the key, 0 if no rights are left
+     */
+    public static long castling( int castlingRights ){
+        return CASTLING[castlingRights];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the key of an en passant square, which depends only on its file.
+     *
+     * @param square
+     *            the square index, or -1 if there is none
+     * @return long the key, 0 if there is no en passant square
+     */
+    public static long enPassant( int square ){
+        return square < 0 ? 0L : EN_PASSANT[square & 7];
+    }
+}
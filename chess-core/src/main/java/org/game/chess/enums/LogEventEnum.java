@@ -0,0 +1,8 @@
+package org.game.chess.enums;
+
+public enum LogEventEnum {
+    MESSAGE,
+    MOVE,
+    CHECK,
+    GAME_OVER
+}
@@ -0,0 +1,10 @@
+package org.game.chess.enums;
+
+public enum PieceTypeEnum {
+    PAWN,
+    KNIGHT,
+    BISHOP,
+    ROOK,
+    QUEEN,
+    KING
+}
@@ -0,0 +1,152 @@
+package org.game.chess.search;
+
+import org.game.chess.ChessPosition;
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * A static evaluation of a position: the material of each side plus a bonus
+ * or penalty for the square every piece stands on. The tables are written
+ * from white's side with the eighth rank first, the same order as the
+ * squares of game.ChessPosition; black's pieces read them mirrored.
+ * <p>
+ * Once the queens are off the board the king is scored for the endgame,
+ * where it belongs in the centre rather than behind its pawns.
+ */
+public final class Evaluator {
+    private static final int[] PIECE_VALUES = { 100, 320, 330, 500, 900, 0 };
+
+    private static final int[] PAWN_TABLE = {
+          0,   0,   0,   0,   0,   0,   0,   0,
+         50,  50,  50,  50,  50,  50,  50,  50,
+         10,  10,  20,  30,  30,  20,  10,  10,
+          5,   5,  10,  25,  25,  10,   5,   5,
+          0,   0,   0,  20,  20,   0,   0,   0,
+          5,  -5, -10,   0,   0, -10,  -5,   5,
+          5,  10,  10, -20, -20,  10,  10,   5,
+          0,   0,   0,   0,   0,   0,   0,   0 };
+    private static final int[] KNIGHT_TABLE = {
+        -50, -40, -30, -30, -30, -30, -40, -50,
+        -40, -20,   0,   0,   0,   0, -20, -40,
+        -30,   0,  10,  15,  15,  10,   0, -30,
+        -30,   5,  15,  20,  20,  15,   5, -30,
+        -30,   0,  15,  20,  20,  15,   0, -30,
+        -30,   5,  10,  15,  15,  10,   5, -30,
+        -40, -20,   0,   5,   5,   0, -20, -40,
+        -50, -40, -30, -30, -30, -30, -40, -50 };
+    private static final int[] BISHOP_TABLE = {
+        -20, -10, -10, -10, -10, -10, -10, -20,
+        -10,   0,   0,   0,   0,   0,   0, -10,
+        -10,   0,   5,  10,  10,   5,   0, -10,
+        -10,   5,   5,  10,  10,   5,   5, -10,
+        -10,   0,  10,  10,  10,  10,   0, -10,
+        -10,  10,  10,  10,  10,  10,  10, -10,
+        -10,   5,   0,   0,   0,   0,   5, -10,
+        -20, -10, -10, -10, -10, -10, -10, -20 };
+    private static final int[] ROOK_TABLE = {
+          0,   0,   0,   0,   0,   0,   0,   0,
+          5,  10,  10,  10,  10,  10,  10,   5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+          0,   0,   0,   5,   5,   0,   0,   0 };
+    private static final int[] QUEEN_TABLE = {
+        -20, -10, -10,  -5,  -5, -10, -10, -20,
+        -10,   0,   0,   0,   0,   0,   0, -10,
+        -10,   0,   5,   5,   5,   5,   0, -10,
+         -5,   0,   5,   5,   5,   5,   0,  -5,
+          0,   0,   5,   5,   5,   5,   0,  -5,
+        -10,   5,   5,   5,   5,   5,   0, -10,
+        -10,   0,   5,   0,   0,   0,   0, -10,
+        -20, -10, -10,  -5,  -5, -10, -10, -20 };
+    private static final int[] KING_TABLE = {
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -20, -30, -30, -40, -40, -30, -30, -20,
+        -10, -20, -20, -20, -20, -20, -20, -10,
+         20,  20,   0,   0,   0,   0,  20,  20,
+         20,  30,  10,   0,   0,  10,  30,  20 };
+    private static final int[] KING_ENDGAME_TABLE = {
+        -50, -40, -30, -20, -20, -30, -40, -50,
+        -30, -20, -10,   0,   0, -10, -20, -30,
+        -30, -10,  20,  30,  30,  20, -10, -30,
+        -30, -10,  30,  40,  40,  30, -10, -30,
+        -30, -10,  30,  40,  40,  30, -10, -30,
+        -30, -10,  20,  30,  30,  20, -10, -30,
+        -30, -30,   0,   0,   0,   0, -30, -30,
+        -50, -30, -30, -30, -30, -30, -30, -50 };
+    private static final int[][] TABLES = { PAWN_TABLE, KNIGHT_TABLE,
+        BISHOP_TABLE, ROOK_TABLE, QUEEN_TABLE, KING_TABLE };
+    // ----------------------------------------------------------
+    /**
+     * Not meant to be instantiated.
+     */
+    private Evaluator(){
+        // static helpers only
+    }
+    // ----------------------------------------------------------
+    /**
+     * Evaluates a position for the side to move.
+     *
+     * @param position
+     *            the position to evaluate
+     * @return int the score in centipawns, positive if the side to move is
+     *         better
+     */
+    public static int evaluate( ChessPosition position ){
+        boolean endgame =
+            position.getPieces( PieceColorEnum.WHITE, PieceTypeEnum.QUEEN ) == 0
+            && position.getPieces( PieceColorEnum.BLACK,
+                PieceTypeEnum.QUEEN ) == 0;
+        int score = evaluate( position, PieceColorEnum.WHITE, 0, endgame )
+            - evaluate( position, PieceColorEnum.BLACK, 56, endgame );
+        return position.getSideToMove() == PieceColorEnum.WHITE
+            ? score
+            : -score;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds up the material and square bonuses of one side.
+     *
+     * @param position
+     *            the position to evaluate
+     * @param color
+     *            the side to score
+     * @param mirror
+     *            56 to read the tables from black's side, else 0
+     * @param endgame
+     *            true to score the king for the endgame
+     * @return int the score of the side in centipawns
+     */
+    private static int evaluate( ChessPosition position, PieceColorEnum color,
+        int mirror, boolean endgame ){
+        int score = 0;
+        for ( PieceTypeEnum type : PieceTypeEnum.values() ){
+            int[] table = type == PieceTypeEnum.KING && endgame
+                ? KING_ENDGAME_TABLE
+                : TABLES[type.ordinal()];
+            long pieces = position.getPieces( color, type );
+            while ( pieces != 0 ){
+                int sq = Long.numberOfTrailingZeros( pieces );
+                score += PIECE_VALUES[type.ordinal()] + table[sq ^ mirror];
+                pieces &= pieces - 1;
+            }
+        }
+        return score;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the material value of a piece type.
+     *
+     * @param type
+     *            the piece type
+     * @return int the value in centipawns, 0 for the king
+     */
+    public static int getPieceValue( PieceTypeEnum type ){
+        return PIECE_VALUES[type.ordinal()];
+    }
+}
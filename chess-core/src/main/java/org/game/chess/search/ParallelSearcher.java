@@ -0,0 +1,168 @@
+package org.game.chess.search;
+
+import org.game.chess.ChessPosition;
+// -------------------------------------------------------------------------
+/**
+ * Searches a position with several threads at once ("lazy SMP"). Every
+ * thread runs its own Searcher on its own copy of the position; they share
+ * nothing but the TranspositionTable, through which each profits from the
+ * results of the others.
+ * <p>
+ * The calling thread runs the main search, which searches every depth and
+ * decides when to stop. The helper threads leave out a different set of
+ * depths each, so they work ahead of the main search at staggered depths,
+ * and are stopped when it returns. The result is the one of the main search,
+ * with the nodes of all threads added up.
+ */
+public class ParallelSearcher {
+    private final ChessPosition      position;
+    private final TranspositionTable table;
+    private final int                threads;
+    private SearchListener           listener;
+    private volatile Searcher        mainSearcher;
+    // ----------------------------------------------------------
+    /**
+     * Create a new ParallelSearcher.
+     *
+     * @param position
+     *            the position to search; the main search makes and takes back
+     *            moves on it, the helpers search copies
+     * @param table
+     *            the table shared by all threads
+     * @param threads
+     *            the number of threads, including the calling thread
+     */
+    public ParallelSearcher( ChessPosition position, TranspositionTable table,
+        int threads ){
+        if ( threads < 1 ){
+            throw new IllegalArgumentException( "A search needs at least one "
+                + "thread, not " + threads + "." );
+        }
+        this.position = position;
+        this.table = table;
+        this.threads = threads;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sets the listener told about every iteration the main search completes.
+     * The node counts reported include the helpers.
+     *
+     * @param listener
+     *            the listener, or null for none
+     */
+    public void setListener( SearchListener listener ){
+        this.listener = listener;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Asks a running search to stop as soon as it can.
+     */
+    public void stop(){
+        Searcher searcher = mainSearcher;
+        if ( searcher != null ){
+            searcher.stop();
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Searches the position until one of the limits is reached, or a forced
+     * mate is found. The limits apply to the main search only.
+     *
+     * @param limits
+     *            when to stop
+     * @return SearchResult the result of the main search
+     */
+    public SearchResult search( SearchLimits limits ){
+        long start = System.nanoTime();
+        table.newSearch();
+        Searcher[] searchers = new Searcher[threads];
+        for ( int i = 0; i < threads; i++ ){
+            searchers[i] = new Searcher(
+                i == 0 ? position : position.copy(), table );
+            searchers[i].setHelper( i );
+        }
+        if ( listener != null ){
+            searchers[0].setListener( result -> listener.iterationFinished(
+                withAllNodes( result, searchers, start ) ) );
+        }
+        Thread[] helpers = new Thread[threads - 1];
+        SearchLimits helperLimits = SearchLimits.depth( Searcher.MAX_PLY - 1 );
+        for ( int i = 0; i < helpers.length; i++ ){
+            Searcher helper = searchers[i + 1];
+            helpers[i] = new Thread( () -> helper.search( helperLimits ),
+                "search-helper-" + ( i + 1 ) );
+            helpers[i].setDaemon( true );
+            helpers[i].start();
+        }
+        mainSearcher = searchers[0];
+        SearchResult result;
+        try {
+            result = searchers[0].search( limits );
+        }
+        finally
+        {
+            mainSearcher = null;
+            for ( int i = 1; i < threads; i++ ){
+                searchers[i].stop();
+            }
+            joinAll( helpers );
+        }
+        return withAllNodes( result, searchers, start );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Waits for the helper threads to finish. An interrupt does not cut the
+     * wait short, since the helpers are already stopping; it is passed on to
+     * the caller afterwards.
+     *
+     * @param helpers
+     *            the helper threads
+     */
+    private static void joinAll( Thread[] helpers ){
+        boolean interrupted = false;
+        for ( Thread helper : helpers ){
+            while ( helper.isAlive() ){
+                try {
+                    helper.join();
+                }
+                catch ( InterruptedException e ){
+                    interrupted = true;
+                }
+            }
+        }
+        if ( interrupted ){
+            Thread.currentThread().interrupt();
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Replaces the node count of a result of the main search with the nodes
+     * of all threads.
+     *
+     * @param result
+     *            the result of the main search
+     * @param searchers
+     *            the searchers of all threads
+     * @param start
+     *            the System.nanoTime the search started at
+     * @return SearchResult the result with the total nodes
+     */
+    private static SearchResult withAllNodes( SearchResult result,
+        Searcher[] searchers, long start ){
+        long nodes = 0;
+        for ( Searcher searcher : searchers ){
+            nodes += searcher.getNodes();
+        }
+        return new SearchResult( result.getDepth(), result.getScore(), nodes,
+            System.nanoTime() - start, result.getPrincipalVariation() );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of threads a search uses.
+     *
+     * @return int the number of threads
+     */
+    public int getThreads(){
+        return threads;
+    }
+}
@@ -0,0 +1,94 @@
+package org.game.chess.search;
+
+// -------------------------------------------------------------------------
+/**
+ * The limits a search stops at: a depth, a number of nodes and a time. The
+ * search stops at whichever it reaches first.
+ */
+public final class SearchLimits {
+    private final int  maxDepth;
+    private final long maxNodes;
+    private final long maxTimeMillis;
+    // ----------------------------------------------------------
+    /**
+     * Create a new SearchLimits object.
+     *
+     * @param maxDepth
+     *            the deepest iteration to search, at least 1
+     * @param maxNodes
+     *            the number of nodes to stop after, or Long.MAX_VALUE
+     * @param maxTimeMillis
+     *            the time to stop after in milliseconds, or Long.MAX_VALUE
+     */
+    public SearchLimits( int maxDepth, long maxNodes, long maxTimeMillis ){
+        if ( maxDepth < 1 || maxNodes < 1 || maxTimeMillis < 1 ){
+            throw new IllegalArgumentException( "Search limits must be "
+                + "positive." );
+        }
+        this.maxDepth = Math.min( maxDepth, Searcher.MAX_PLY - 1 );
+        this.maxNodes = maxNodes;
+        this.maxTimeMillis = maxTimeMillis;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Creates limits that stop at a depth only.
+     *
+     * @param maxDepth
+     *            the deepest iteration to search
+     * @return SearchLimits the limits
+     */
+    public static SearchLimits depth( int maxDepth ){
+        return new SearchLimits( maxDepth, Long.MAX_VALUE, Long.MAX_VALUE );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Creates limits that stop after a number of nodes only.
+     *
+     * @param maxNodes
+     *            the number of nodes to stop after
+     * @return SearchLimits the limits
+     */
+    public static SearchLimits nodes( long maxNodes ){
+        return new SearchLimits( Searcher.MAX_PLY - 1, maxNodes,
+            Long.MAX_VALUE );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Creates limits that stop after a time only.
+     *
+     * @param maxTimeMillis
+     *            the time to stop after in milliseconds
+     * @return SearchLimits the limits
+     */
+    public static SearchLimits time( long maxTimeMillis ){
+        return new SearchLimits( Searcher.MAX_PLY - 1, Long.MAX_VALUE,
+            maxTimeMillis );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the deepest iteration to search.
+     *
+     * @return int the depth
+     */
+    public int getMaxDepth(){
+        return maxDepth;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of nodes to stop after.
+     *
+     * @return long the nodes, or Long.MAX_VALUE for no limit
+     */
+    public long getMaxNodes(){
+        return maxNodes;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the time to stop after.
+     *
+     * @return long the time in milliseconds, or Long.MAX_VALUE for no limit
+     */
+    public long getMaxTimeMillis(){
+        return maxTimeMillis;
+    }
+}
@@ -0,0 +1,17 @@
+package org.game.chess.search;
+
+// -------------------------------------------------------------------------
+/**
+ * Receives the result of every iteration a search completes, so progress can
+ * be reported while the search is still running.
+ */
+public interface SearchListener {
+    // ----------------------------------------------------------
+    /**
+     * Called when an iteration of the search has completed.
+     *
+     * @param result
+     *            the result of the iteration
+     */
+    void iterationFinished( SearchResult result );
+}
@@ -0,0 +1,172 @@
+package org.game.chess.search;
+
+import java.util.Arrays;
+import org.game.chess.Move;
+// -------------------------------------------------------------------------
+/**
+ * The outcome of one completed iteration of a search: the best move and its
+ * score, the depth reached, the work done and the principal variation (the
+ * line both sides are expected to play).
+ */
+public final class SearchResult {
+    private final int   depth;
+    private final int   score;
+    private final long  nodes;
+    private final long  elapsedNanos;
+    private final int[] principalVariation;
+    // ----------------------------------------------------------
+    /**
+     * Create a new SearchResult object.
+     *
+     * @param depth
+     *            the depth of the iteration
+     * @param score
+     *            the score for the side to move, in centipawns or as a mate
+     *            score (see Searcher.MATE_SCORE)
+     * @param nodes
+     *            the nodes searched so far
+     * @param elapsedNanos
+     *            the time taken so far, in nanoseconds
+     * @param principalVariation
+     *            the expected line, starting with the best move
+     */
+    public SearchResult( int depth, int score, long nodes, long elapsedNanos,
+        int[] principalVariation ){
+        this.depth = depth;
+        this.score = score;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.principalVariation = principalVariation.clone();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the best move.
+     *
+     * @return int the packed move (see game.Move), or Move.NONE if the side
+     *         to move has no legal moves
+     */
+    public int getBestMove(){
+        return principalVariation.length == 0
+            ? Move.NONE
+            : principalVariation[0];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the score of the best move for the side to move.
+     *
+     * @return int the score
+     */
+    public int getScore(){
+        return score;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if the score is a forced mate, for either side.
+     *
+     * @return boolean true if the score is a mate score
+     */
+    public boolean isMate(){
+        return Math.abs( score ) >= Searcher.MATE_SCORE - Searcher.MAX_PLY;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the depth reached.
+     *
+     * @return int the depth of the last completed iteration
+     */
+    public int getDepth(){
+        return depth;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of nodes searched.
+     *
+     * @return long the nodes
+     */
+    public long getNodes(){
+        return nodes;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the time the search has taken.
+     *
+     * @return long the time in milliseconds
+     */
+    public long getElapsedMillis(){
+        return elapsedNanos / 1000000;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the search speed.
+     *
+     * @return long the nodes searched per second
+     */
+    public long getNodesPerSecond(){
+        return elapsedNanos == 0 ? 0 : nodes * 1000000000L / elapsedNanos;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the principal variation.
+     *
+     * @return int[] the packed moves of the expected line
+     */
+    public int[] getPrincipalVariation(){
+        return principalVariation.clone();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Returns the result as one report line, i.e.
+     * "depth 6 score cp 35 nodes 81234 nps 1204010 time 67 pv e2e4 e7e5".
+     *
+     * @return String the string representation
+     */
+    @Override
+    public String toString(){
+        StringBuilder str = new StringBuilder( "depth " ).append( depth );
+        if ( isMate() ){
+            int plies = Searcher.MATE_SCORE - Math.abs( score );
+            str.append( " score mate " )
+                .append( score > 0 ? ( plies + 1 ) / 2 : -( plies / 2 ) );
+        }
+        else
+        {
+            str.append( " score cp " ).append( score );
+        }
+        str.append( " nodes " ).append( nodes )
+            .append( " nps " ).append( getNodesPerSecond() )
+            .append( " time " ).append( getElapsedMillis() )
+            .append( " pv" );
+        for ( int move : principalVariation ){
+            str.append( ' ' ).append( Move.toString( move ) );
+        }
+        return str.toString();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Checks if another result has the same outcome.
+     *
+     * @param other
+     *            the object to compare with
+     * @return boolean true if depth, score and line are the same
+     */
+    @Override
+    public boolean equals( Object other ){
+        if ( !( other instanceof SearchResult ) ){
+            return false;
+        }
+        SearchResult result = (SearchResult)other;
+        return depth == result.depth && score == result.score
+            && Arrays.equals( principalVariation, result.principalVariation );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Returns a hash code consistent with equals.
+     *
+     * @return int the hash code
+     */
+    @Override
+    public int hashCode(){
+        return 31 * ( 31 * depth + score )
+            + Arrays.hashCode( principalVariation );
+    }
+}
@@ -0,0 +1,472 @@
+package org.game.chess.search;
+
+import org.game.chess.ChessPosition;
+import org.game.chess.Move;
+import org.game.chess.MoveList;
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * Finds the best move in a position with an alpha-beta negamax search. The
+ * search deepens one ply at a time until it reaches one of its limits (see
+ * SearchLimits), reporting every completed iteration to an optional listener.
+ * <p>
+ * The search plays by the rules the pieces generate: it walks the tree with
+ * ChessPosition.generateLegalMoves, makeMove and unmakeMove, so the position
+ * is left as it was. Results are kept in a TranspositionTable, which may be
+ * shared by several searchers. Leaves are resolved with a search of captures
+ * and promotions only, so no score is taken in the middle of an exchange.
+ * <p>
+ * A searcher is not thread safe; stop is the only method another thread may
+ * call.
+ */
+public class Searcher {
+    /**
+     * The deepest ply the search can reach.
+     */
+    public static final int MAX_PLY    = 128;
+    /**
+     * The score of being mated right now. Being mated n plies from the root
+     * scores -(MATE_SCORE - n), mating scores MATE_SCORE - n.
+     */
+    public static final int MATE_SCORE = 30000;
+
+    private static final int INFINITY        = 32000;
+    private static final int MAX_MOVES       = 256;
+    private static final int CHECK_INTERVAL  = 1024;
+    private static final int HASH_MOVE_ORDER = 1 << 30;
+    private static final int CAPTURE_ORDER   = 1 << 20;
+    private static final int[] SKIP_SIZES  =
+        { 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4 };
+    private static final int[] SKIP_PHASES =
+        { 0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7 };
+
+    private final ChessPosition      position;
+    private final TranspositionTable table;
+    private final MoveList[]         moveLists;
+    private final int[][]            moveOrders;
+    private final int[][]            principalVariations;
+    private final int[]              principalVariationLengths;
+    private SearchListener           listener;
+    private int                      helperIndex;
+    private int                      skipSize;
+    private int                      skipPhase;
+    private long                     nodes;
+    private long                     maxNodes;
+    private long                     deadline;
+    private volatile boolean         stopped;
+    // ----------------------------------------------------------
+    /**
+     * Create a new Searcher.
+     *
+     * @param position
+     *            the position to search; moves are made and taken back on it
+     *            while a search runs
+     * @param table
+     *            the table to keep results in
+     */
+    public Searcher( ChessPosition position, TranspositionTable table ){
+        this.position = position;
+        this.table = table;
+        moveLists = new MoveList[MAX_PLY + 1];
+        moveOrders = new int[MAX_PLY + 1][MAX_MOVES];
+        for ( int i = 0; i < moveLists.length; i++ ){
+            moveLists[i] = new MoveList( MAX_MOVES );
+        }
+        principalVariations = new int[MAX_PLY + 1][MAX_PLY + 1];
+        principalVariationLengths = new int[MAX_PLY + 1];
+        helperIndex = -1;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Makes this searcher one of the threads of a parallel search (see
+     * ParallelSearcher), which starts the new table generation itself. Thread
+     * 0 searches every depth. The others leave out some depths, a different
+     * pattern for each index, so that the threads are staggered over several
+     * depths and fill the shared table with results the others can use.
+     *
+     * @param index
+     *            the index of the thread in the parallel search
+     */
+    void setHelper( int index ){
+        helperIndex = index;
+        if ( index == 0 ){
+            return;
+        }
+        skipSize = SKIP_SIZES[( index - 1 ) % SKIP_SIZES.length];
+        skipPhase = SKIP_PHASES[( index - 1 ) % SKIP_PHASES.length];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sets the listener told about every completed iteration.
+     *
+     * @param listener
+     *            the listener, or null for none
+     */
+    public void setListener( SearchListener listener ){
+        this.listener = listener;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Asks a running search to stop as soon as it can. The search returns the
+     * result of its last completed iteration.
+     */
+    public void stop(){
+        stopped = true;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Searches the position until one of the limits is reached, or a forced
+     * mate is found.
+     *
+     * @param limits
+     *            when to stop
+     * @return SearchResult the result of the deepest completed iteration;
+     *         its best move is Move.NONE if the side to move has no moves
+     */
+    public SearchResult search( SearchLimits limits ){
+        long start = System.nanoTime();
+        nodes = 0;
+        maxNodes = limits.getMaxNodes();
+        deadline = limits.getMaxTimeMillis() == Long.MAX_VALUE
+            ? Long.MAX_VALUE
+            : start + limits.getMaxTimeMillis() * 1000000L;
+        // a thread of a parallel search runs once and may be stopped before it
+        // starts, so only a search on its own clears the stop
+        if ( helperIndex < 0 ){
+            stopped = false;
+            table.newSearch();
+        }
+        SearchResult result = null;
+        for ( int depth = 1; depth <= limits.getMaxDepth(); depth++ ){
+            if ( helperIndex > 0 && ( ( depth + skipPhase ) / skipSize ) % 2 != 0
+                && depth < limits.getMaxDepth() ){
+                continue; // left to the other helpers
+            }
+            int score = search( depth, 0, -INFINITY, INFINITY );
+            if ( stopped && result != null ){
+                break; // the iteration is incomplete
+            }
+            int[] line = new int[principalVariationLengths[0]];
+            System.arraycopy( principalVariations[0], 0, line, 0,
+                line.length );
+            if ( line.length == 0 && stopped ){
+                line = anyMove(); // stopped before any move was searched
+            }
+            result = new SearchResult( depth, score, nodes,
+                System.nanoTime() - start, line );
+            if ( listener != null ){
+                listener.iterationFinished( result );
+            }
+            if ( stopped || result.isMate() || line.length == 0 ){
+                break;
+            }
+        }
+        return result;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Picks a legal move without searching, for a search stopped too soon to
+     * have found one.
+     *
+     * @return int[] the first legal move, or no move if there is none
+     */
+    private int[] anyMove(){
+        MoveList moves = new MoveList();
+        position.generateLegalMoves( moves );
+        return moves.isEmpty() ? new int[0] : new int[] { moves.get( 0 ) };
+    }
+    // ----------------------------------------------------------
+    /**
+     * Searches a position to a depth with an alpha-beta window.
+     *
+     * @param depth
+     *            the number of plies left to search
+     * @param ply
+     *            the number of plies from the root
+     * @param alpha
+     *            the score the side to move is already sure of
+     * @param beta
+     *            the score the opponent is already sure of
+     * @return int the score for the side to move, or 0 if the search stopped
+     */
+    private int search( int depth, int ply, int alpha, int beta ){
+        principalVariationLengths[ply] = 0;
+        if ( ply > 0 && position.isRepetition() ){
+            return 0;
+        }
+        boolean inCheck = position.isInCheck( position.getSideToMove() );
+        if ( inCheck ){
+            depth++; // never stop the search while in check
+        }
+        if ( depth <= 0 || ply >= MAX_PLY ){
+            return quiesce( ply, alpha, beta );
+        }
+        if ( countNode() ){
+            return 0;
+        }
+        long hash = position.getHash();
+        long entry = table.probe( hash );
+        int hashMove = TranspositionTable.getMove( entry );
+        if ( entry != 0 && ply > 0
+            && TranspositionTable.getDepth( entry ) >= depth ){
+            int score = fromTable( TranspositionTable.getScore( entry ), ply );
+            int bound = TranspositionTable.getBound( entry );
+            if ( bound == TranspositionTable.BOUND_EXACT
+                || ( bound == TranspositionTable.BOUND_LOWER && score >= beta )
+                || ( bound == TranspositionTable.BOUND_UPPER
+                    && score <= alpha ) ){
+                return score;
+            }
+        }
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        position.generateLegalMoves( moves );
+        if ( moves.isEmpty() ){
+            return inCheck ? -MATE_SCORE + ply : 0;
+        }
+        scoreMoves( ply, hashMove );
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = Move.NONE;
+        for ( int i = 0; i < moves.size(); i++ ){
+            int move = nextMove( ply, i );
+            position.makeMove( move );
+            int score = -search( depth - 1, ply + 1, -beta, -alpha );
+            position.unmakeMove();
+            if ( stopped ){
+                return 0;
+            }
+            if ( score > bestScore ){
+                bestScore = score;
+                bestMove = move;
+                if ( score > alpha ){
+                    alpha = score;
+                    updatePrincipalVariation( ply, move );
+                    if ( alpha >= beta ){
+                        break;
+                    }
+                }
+            }
+        }
+        int bound = bestScore >= beta
+            ? TranspositionTable.BOUND_LOWER
+            : bestScore > originalAlpha
+                ? TranspositionTable.BOUND_EXACT
+                : TranspositionTable.BOUND_UPPER;
+        table.store( hash, bestMove, toTable( bestScore, ply ), depth, bound );
+        return bestScore;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Searches captures and promotions until the position is quiet, so the
+     * static evaluation is not taken in the middle of an exchange. The side to
+     * move may always stand pat instead, unless it is in check, in which case
+     * every move is searched.
+     *
+     * @param ply
+     *            the number of plies from the root
+     * @param alpha
+     *            the score the side to move is already sure of
+     * @param beta
+     *            the score the opponent is already sure of
+     * @return int the score for the side to move, or 0 if the search stopped
+     */
+    private int quiesce( int ply, int alpha, int beta ){
+        principalVariationLengths[ply] = 0;
+        if ( countNode() ){
+            return 0;
+        }
+        boolean inCheck = position.isInCheck( position.getSideToMove() );
+        int bestScore = -INFINITY;
+        if ( !inCheck ){
+            bestScore = Evaluator.evaluate( position );
+            if ( bestScore >= beta || ply >= MAX_PLY ){
+                return bestScore;
+            }
+            alpha = Math.max( alpha, bestScore );
+        }
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        position.generateLegalMoves( moves );
+        if ( moves.isEmpty() ){
+            return inCheck ? -MATE_SCORE + ply : 0;
+        }
+        if ( ply >= MAX_PLY ){
+            return Evaluator.evaluate( position );
+        }
+        scoreMoves( ply, Move.NONE );
+        for ( int i = 0; i < moves.size(); i++ ){
+            int move = nextMove( ply, i );
+            if ( !inCheck && moveOrders[ply][i] < CAPTURE_ORDER ){
+                break; // only quiet moves are left
+            }
+            position.makeMove( move );
+            int score = -quiesce( ply + 1, -beta, -alpha );
+            position.unmakeMove();
+            if ( stopped ){
+                return 0;
+            }
+            if ( score > bestScore ){
+                bestScore = score;
+                if ( score > alpha ){
+                    alpha = score;
+                    updatePrincipalVariation( ply, move );
+                    if ( alpha >= beta ){
+                        break;
+                    }
+                }
+            }
+        }
+        return bestScore;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Counts a node and checks the node and time limits.
+     *
+     * @return boolean true if the search has to stop
+     */
+    private boolean countNode(){
+        nodes++;
+        if ( nodes >= maxNodes
+            || ( ( nodes % CHECK_INTERVAL ) == 0
+                && System.nanoTime() >= deadline ) ){
+            stopped = true;
+        }
+        return stopped;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gives every move of a ply a sort key: the move from the table first,
+     * then captures and promotions by the value they win, most valuable
+     * victim and least valuable attacker first, then the quiet moves.
+     *
+     * @param ply
+     *            the ply whose moves are scored
+     * @param hashMove
+     *            the best move stored in the table, or Move.NONE
+     */
+    private void scoreMoves( int ply, int hashMove ){
+        MoveList moves = moveLists[ply];
+        int[] orders = moveOrders[ply];
+        for ( int i = 0; i < moves.size(); i++ ){
+            int move = moves.get( i );
+            int order = 0;
+            if ( move == hashMove ){
+                order = HASH_MOVE_ORDER;
+            }
+            else if ( Move.isCapture( move ) || Move.isPromotion( move ) ){
+                int gain = 0;
+                if ( Move.isCapture( move ) ){
+                    gain += 8 * Evaluator.getPieceValue(
+                        Move.getCaptured( move ) )
+                        - Evaluator.getPieceValue( Move.getPiece( move ) ) / 8;
+                }
+                if ( Move.isPromotion( move ) ){
+                    gain += Evaluator.getPieceValue( Move.getPromotion( move ) )
+                        - Evaluator.getPieceValue( PieceTypeEnum.PAWN );
+                }
+                order = CAPTURE_ORDER + gain;
+            }
+            orders[i] = order;
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Moves the best ordered of the remaining moves of a ply to an index, so
+     * moves are sorted only as far as the search gets before a cutoff.
+     *
+     * @param ply
+     *            the ply to pick a move from
+     * @param index
+     *            the index to move it to; all moves before it are picked
+     * @return int the picked move
+     */
+    private int nextMove( int ply, int index ){
+        MoveList moves = moveLists[ply];
+        int[] orders = moveOrders[ply];
+        int best = index;
+        for ( int i = index + 1; i < moves.size(); i++ ){
+            if ( orders[i] > orders[best] ){
+                best = i;
+            }
+        }
+        if ( best != index ){
+            moves.swap( index, best );
+            int order = orders[index];
+            orders[index] = orders[best];
+            orders[best] = order;
+        }
+        return moves.get( index );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Makes a move followed by the line below it the principal variation of a
+     * ply.
+     *
+     * @param ply
+     *            the ply of the move
+     * @param move
+     *            the new best move
+     */
+    private void updatePrincipalVariation( int ply, int move ){
+        int[] line = principalVariations[ply];
+        line[0] = move;
+        int length = 0;
+        if ( ply < MAX_PLY ){
+            length = principalVariationLengths[ply + 1];
+            System.arraycopy( principalVariations[ply + 1], 0, line, 1,
+                length );
+        }
+        principalVariationLengths[ply] = length + 1;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Converts a score to be stored in the table. Mate scores count from the
+     * root, so they are made to count from the stored position instead.
+     *
+     * @param score
+     *            the score, counted from the root
+     * @param ply
+     *            the ply of the stored position
+     * @return int the score to store
+     */
+    private static int toTable( int score, int ply ){
+        if ( score >= MATE_SCORE - MAX_PLY ){
+            return score + ply;
+        }
+        if ( score <= -MATE_SCORE + MAX_PLY ){
+            return score - ply;
+        }
+        return score;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Converts a score read from the table back to count from the root.
+     *
+     * @param score
+     *            the stored score
+     * @param ply
+     *            the ply of the position it was read for
+     * @return int the score, counted from the root
+     */
+    private static int fromTable( int score, int ply ){
+        if ( score >= MATE_SCORE - MAX_PLY ){
+            return score - ply;
+        }
+        if ( score <= -MATE_SCORE + MAX_PLY ){
+            return score + ply;
+        }
+        return score;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of nodes searched so far by the current or last search.
+     * Read by another thread while the search runs, the count may be a little
+     * behind.
+     *
+     * @return long the nodes
+     */
+    public long getNodes(){
+        return nodes;
+    }
+}
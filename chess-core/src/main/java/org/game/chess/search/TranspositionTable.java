@@ -0,0 +1,324 @@
+package org.game.chess.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+// -------------------------------------------------------------------------
+/**
+ * A fixed-size table of search results keyed by position hash (see
+ * game.Zobrist), shared by any number of search threads without locks.
+ * <p>
+ * Every entry is two longs in two primitive arrays: the packed data (best
+ * move, score, depth, bound and search generation) and the position hash
+ * XORed with that data. A reader accepts an entry only if its two words XOR
+ * back to the hash it is looking for. A write torn by another thread, or by
+ * the JVM splitting a long, fails that check and reads as a miss, so no entry
+ * is ever used for the wrong position by a race.
+ * <p>
+ * Entries are grouped in buckets of BUCKET_SIZE. A new result replaces the
+ * entry for the same position, else an empty entry, else the entry that is
+ * shallowest after counting how many searches ago it was stored.
+ * <p>
+ * Probes count as hits or misses. A store that throws out another position's
+ * result from the current search counts as a collision.
+ */
+public final class TranspositionTable {
+    /**
+     * Bound type: the score is exact.
+     */
+    public static final int BOUND_EXACT = 3;
+    /**
+     * Bound type: the score is a lower bound (the search failed high).
+     */
+    public static final int BOUND_LOWER = 1;
+    /**
+     * Bound type: the score is an upper bound (the search failed low).
+     */
+    public static final int BOUND_UPPER = 2;
+    /**
+     * The number of entries that share an index.
+     */
+    public static final int BUCKET_SIZE = 4;
+
+    private static final int  BYTES_PER_ENTRY  = 16;
+    private static final int  SCORE_SHIFT      = 26;
+    private static final int  DEPTH_SHIFT      = 42;
+    private static final int  BOUND_SHIFT      = 50;
+    private static final int  GENERATION_SHIFT = 52;
+    private static final long MOVE_MASK        = ( 1L << SCORE_SHIFT ) - 1;
+
+    private final long[]    keys;
+    private final long[]    data;
+    private final int       bucketMask;
+    private volatile int    generation;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder collisions;
+    // ----------------------------------------------------------
+    /**
+     * Create a new TranspositionTable of at most the requested size. The
+     * number of buckets is rounded down to a power of two, and is at most
+     * 2^28 so both arrays stay addressable by int: a table never takes more
+     * than 16384 MB, however much is requested.
+     *
+     * @param megabytes
+     *            the size of the table in MB, at least 1
+     */
+    public TranspositionTable( int megabytes ){
+        if ( megabytes < 1 ){
+            throw new IllegalArgumentException( "The transposition table "
+                + "needs at least 1 MB, not " + megabytes + "." );
+        }
+        long entries = ( (long)megabytes << 20 ) / BYTES_PER_ENTRY;
+        long buckets = Long.highestOneBit( entries / BUCKET_SIZE );
+        // keep both arrays addressable by int
+        buckets = Math.min( buckets,
+            Long.highestOneBit( Integer.MAX_VALUE / BUCKET_SIZE ) );
+        keys = new long[(int)( buckets * BUCKET_SIZE )];
+        data = new long[keys.length];
+        bucketMask = (int)( buckets - 1 );
+        hits = new LongAdder();
+        misses = new LongAdder();
+        collisions = new LongAdder();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Looks up the stored result for a position.
+     *
+     * @param hash
+     *            the hash of the position
+     * @return long the packed entry, to be read with the get methods of this
+     *         class, or 0 if the position is not in the table
+     */
+    public long probe( long hash ){
+        int first = bucketIndex( hash );
+        for ( int i = first; i < first + BUCKET_SIZE; i++ ){
+            long entry = data[i];
+            if ( entry != 0 && ( keys[i] ^ entry ) == hash ){
+                hits.increment();
+                return entry;
+            }
+        }
+        misses.increment();
+        return 0L;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Stores the result of searching a position.
+     *
+     * @param hash
+     *            the hash of the position
+     * @param move
+     *            the best move found (see game.Move), or game.Move.NONE
+     * @param score
+     *            the score, between Short.MIN_VALUE and Short.MAX_VALUE
+     * @param depth
+     *            the depth searched, between 0 and 255
+     * @param bound
+     *            one of BOUND_EXACT, BOUND_LOWER or BOUND_UPPER
+     */
+    public void store( long hash, int move, int score, int depth, int bound ){
+        int currentGeneration = generation;
+        int first = bucketIndex( hash );
+        int victim = first;
+        int victimWorth = Integer.MAX_VALUE;
+        for ( int i = first; i < first + BUCKET_SIZE; i++ ){
+            long entry = data[i];
+            if ( entry == 0 || ( keys[i] ^ entry ) == hash ){
+                if ( entry != 0 && move == 0 ){
+                    move = getMove( entry ); // keep the known best move
+                }
+                victim = i;
+                victimWorth = Integer.MIN_VALUE;
+                break;
+            }
+            // older searches count as shallower
+            int age = ( currentGeneration - getGeneration( entry ) ) & 0xff;
+            int worth = getDepth( entry ) - 8 * age;
+            if ( worth < victimWorth ){
+                victim = i;
+                victimWorth = worth;
+            }
+        }
+        long old = data[victim];
+        if ( old != 0 && ( keys[victim] ^ old ) != hash
+            && getGeneration( old ) == currentGeneration ){
+            collisions.increment();
+        }
+        long entry = pack( move, score, depth, bound, currentGeneration );
+        data[victim] = entry;
+        keys[victim] = hash ^ entry;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the index of the first entry of the bucket for a hash.
+     *
+     * @param hash
+     *            the hash of the position
+     * @return int the array index
+     */
+    private int bucketIndex( long hash ){
+        // the low bits of the hash pick the bucket
+        return ( (int)hash & bucketMask ) * BUCKET_SIZE;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Packs the data of an entry into a long.
+     *
+     * @param move
+     *            the best move
+     * @param score
+     *            the score
+     * @param depth
+     *            the depth searched
+     * @param bound
+     *            the bound type
+     * @param entryGeneration
+     *            the search the entry is stored in
+     * @return long the packed entry, never 0
+     */
+    private static long pack( int move, int score, int depth, int bound,
+        int entryGeneration ){
+        return ( move & MOVE_MASK )
+            | ( ( score & 0xffffL ) << SCORE_SHIFT )
+            | ( (long)( depth & 0xff ) << DEPTH_SHIFT )
+            | ( (long)( bound & 3 ) << BOUND_SHIFT )
+            | ( (long)( entryGeneration & 0xff ) << GENERATION_SHIFT );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the best move of an entry.
+     *
+     * @param entry
+     *            an entry returned by probe
+     * @return int the packed move, or game.Move.NONE
+     */
+    public static int getMove( long entry ){
+        return (int)( entry & MOVE_MASK );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the score of an entry.
+     *
+     * @param entry
+     *            an entry returned by probe
+     * @return int the score
+     */
+    public static int getScore( long entry ){
+        return (short)( entry >>> SCORE_SHIFT );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the depth an entry was searched to.
+     *
+     * @param entry
+     *            an entry returned by probe
+     * @return int the depth
+     */
+    public static int getDepth( long entry ){
+        return (int)( entry >>> DEPTH_SHIFT ) & 0xff;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the bound type of an entry.
+     *
+     * @param entry
+     *            an entry returned by probe
+     * @return int one of BOUND_EXACT, BOUND_LOWER or BOUND_UPPER
+     */
+    public static int getBound( long entry ){
+        return (int)( entry >>> BOUND_SHIFT ) & 3;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the search an entry was stored in.
+     *
+     * @param entry
+     *            an entry returned by probe
+     * @return int the generation, modulo 256
+     */
+    private static int getGeneration( long entry ){
+        return (int)( entry >>> GENERATION_SHIFT ) & 0xff;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Marks the start of a new search, so that results of earlier searches
+     * are replaced first.
+     */
+    public void newSearch(){
+        generation = ( generation + 1 ) & 0xff;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Empties the table and resets the counters. Must not be called while a
+     * search is using the table.
+     */
+    public void clear(){
+        Arrays.fill( keys, 0L );
+        Arrays.fill( data, 0L );
+        generation = 0;
+        resetCounters();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Resets the hit, miss and collision counters.
+     */
+    public void resetCounters(){
+        hits.reset();
+        misses.reset();
+        collisions.reset();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of entries the table holds.
+     *
+     * @return int the capacity
+     */
+    public int getCapacity(){
+        return keys.length;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of probes that found their position.
+     *
+     * @return long the number of hits
+     */
+    public long getHits(){
+        return hits.sum();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of probes that did not find their position.
+     *
+     * @return long the number of misses
+     */
+    public long getMisses(){
+        return misses.sum();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the number of stores that replaced another position's result from
+     * the current search.
+     *
+     * @return long the number of collisions
+     */
+    public long getCollisions(){
+        return collisions.sum();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets how full the table is with results of the current search, sampled
+     * from its first thousand entries.
+     *
+     * @return int the number of used entries per thousand
+     */
+    public int getUsagePerMill(){
+        int sample = Math.min( 1000, data.length );
+        int used = 0;
+        for ( int i = 0; i < sample; i++ ){
+            if ( data[i] != 0 && getGeneration( data[i] ) == generation ){
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+}
@@ -0,0 +1,564 @@
+package org.game.chess;
+
+import java.awt.Color;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.io.Serializable;
+import java.util.List;
+import javax.swing.JComponent;
+import javax.swing.JOptionPane;
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * The component that represents the Chess game board. Contains a few methods
+ * that allow other classes to access the physical board.
+ * <p>
+ * The squares, their highlights and the pieces are all painted by this one
+ * component. When a square changes only that square is repainted, and
+ * painting skips the squares outside the area being repainted, so there are
+ * no child components to lay out.
+ * <p>
+ * Once the board is in a game.ChessPanel, its position belongs to the rule
+ * thread of the panel. The board only paints, and answers questions from,
+ * the copy of the position it was last shown; everything that reads or
+ * changes the position itself goes through ChessPanel.runOnEngine. The legal
+ * moves of a clicked piece are found, and moves are played, on that thread;
+ * clicks made before the board has the answer are ignored.
+ *
+ * @author Ben Katz (bakatz)
+ * @author Myles David II (davidmm2)
+ * @author Danielle Bushrow (dbushrow)
+ * @version 2010.11.17
+ */
+public class ChessGameBoard extends JComponent{
+    private static final int   DEFAULT_SQUARE_SIZE = 60;
+    // the gap between squares, showing the background as grid lines
+    private static final int   GAP                 = 1;
+    private static final Color LIGHT_SQUARE        = Color.WHITE;
+    private static final Color DARK_SQUARE         = Color.BLACK;
+    private static final Color SELECTED_SQUARE     = Color.GREEN;
+    private static final Color CAPTURE_SQUARE      = Color.YELLOW;
+    private static final Color MOVE_SQUARE         = Color.PINK;
+
+    private BoardListener  listener;
+    private ChessPosition  position;
+    private ChessPosition  shown;
+    private boolean        firstClick;
+    private boolean        showPieces;
+    private boolean        busy;
+    private int            selectedSquare;
+    private long           moveSquares;
+    private long           captureSquares;
+    // ----------------------------------------------------------
+    /**
+     * Returns the position this board renders. Once the board is in a
+     * game.ChessPanel, it may only be used on the rule thread of the panel
+     * (see ChessPanel.runOnEngine); the board paints the copy it was last
+     * shown (see showPosition).
+     *
+     * @return game.ChessPosition the position model
+     */
+    public ChessPosition getPosition(){
+        return position;
+    }
+    /**
+     * Checks to make sure row and column are valid indices.
+     * @param row the row to check
+     * @param col the column to check
+     * @return boolean true if they are valid, false otherwise
+     */
+    private boolean validateCoordinates( int row, int col ){
+        return ChessPosition.isOnBoard( row, col );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Redraws the cell at 'row', 'col' from the position last shown.
+     * @param row the row to look at
+     * @param col the column to look at
+     */
+    public void refreshCell( int row, int col ){
+        if ( validateCoordinates( row, col ) ){
+            repaintSquare( row, col );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets all the white game pieces on the board, as it was last shown.
+     *
+     * @return List<GamePiece> the pieces, as a read-only view of the copy of
+     *         the position shown (see ChessPosition.getAllPieces)
+     */
+    public List<ChessGamePiece> getAllWhitePieces(){
+        return shown.getAllPieces( PieceColorEnum.WHITE );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets all the black pieces on the board, as it was last shown.
+     *
+     * @return List<GamePiece> the pieces, as a read-only view of the copy of
+     *         the position shown (see ChessPosition.getAllPieces)
+     */
+    public List<ChessGamePiece> getAllBlackPieces(){
+        return shown.getAllPieces( PieceColorEnum.BLACK );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Create a new game.ChessGameBoard object.
+     */
+    public ChessGameBoard(){
+        listener = new BoardListener();
+        position = new ChessPosition();
+        shown = new ChessPosition();
+        firstClick = true;
+        selectedSquare = -1;
+        setOpaque( true );
+        setBackground( Color.GRAY );
+        setPreferredSize( new Dimension( 8 * DEFAULT_SQUARE_SIZE,
+            8 * DEFAULT_SQUARE_SIZE ) );
+        addMouseListener( listener );
+        // no panel has the position yet, so it is set up here
+        position.initializeBoard();
+        showPosition( position.copy() );
+        refreshBoard();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the panel the board is in, whose rule thread the position
+     * belongs to.
+     *
+     * @return game.ChessPanel the panel
+     */
+    private ChessPanel getPanel(){
+        if ( !( getParent() instanceof ChessPanel ) ){
+            throw new IllegalStateException( "The board is not in a game "
+                + "panel." );
+        }
+        return (ChessPanel)getParent();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Clears the board of all items, including any pieces left over in the
+     * graveyard, and all old game logs. The position itself is left as it
+     * is, as it may belong to another thread.
+     * @param addAfterReset if true, the board will show the empty squares
+     * and take clicks, if false it will simply reset everything and leave
+     * the board blank.
+     */
+    public void resetBoard ( boolean addAfterReset ){
+        shown = new ChessPosition();
+        if ( getParent() instanceof ChessPanel ){
+            ( (ChessPanel)getParent() ).getGraveyard( 1 ).clearGraveyard();
+            ( (ChessPanel)getParent() ).getGraveyard( 2 ).clearGraveyard();
+            ( (ChessPanel)getParent() ).getGameLog().clearLog();
+        }
+        firstClick = true;
+        clearHighlights();
+        showPieces = addAfterReset;
+        repaint();
+    }
+    /**
+     * (Re)initializes this game.ChessGameBoard to its default layout with all 32
+     * pieces added, by starting a new game on the rule thread of the panel.
+     */
+    public void initializeBoard(){
+        getPanel().runOnEngine( engine -> {
+            engine.reset();
+            return null;
+        }, null );
+    }
+    /**
+     * Sets up this game.ChessGameBoard with a position given in FEN (see
+     * game.Fen), by starting a new game from it on the rule thread of the
+     * panel. The FEN is checked at once.
+     *
+     * @param fen
+     *            the position in FEN
+     * @throws IllegalArgumentException
+     *             if the FEN does not describe a legal position
+     */
+    public void loadPosition( String fen ){
+        Fen.load( fen );
+        getPanel().runOnEngine( engine -> {
+            engine.loadPosition( fen );
+            return null;
+        }, null );
+    }
+    /**
+     * Redraws every cell of this game.ChessGameBoard from the position last
+     * shown, i.e. after a new game has been set up on it.
+     */
+    public void refreshBoard(){
+        firstClick = true;
+        clearHighlights();
+        showPieces = true;
+        repaint();
+    }
+    /**
+     * Shows a copy of the position, repainting the squares whose piece
+     * differs from the copy shown before. Must be called on the Event
+     * Dispatch Thread.
+     *
+     * @param copy
+     *            the copy, which the board keeps and must not be changed
+     *            afterwards
+     */
+    public void showPosition( ChessPosition copy ){
+        long changed = 0L;
+        for ( PieceTypeEnum type : PieceTypeEnum.values() ){
+            changed |= shown.getPieces( PieceColorEnum.WHITE, type )
+                ^ copy.getPieces( PieceColorEnum.WHITE, type );
+            changed |= shown.getPieces( PieceColorEnum.BLACK, type )
+                ^ copy.getPieces( PieceColorEnum.BLACK, type );
+        }
+        shown = copy;
+        repaintSquares( changed );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Clears the colors on the board.
+     */
+    public void clearColorsOnBoard(){
+        long highlighted = moveSquares | captureSquares;
+        if ( selectedSquare >= 0 ){
+            highlighted |= 1L << selectedSquare;
+        }
+        clearHighlights();
+        repaintSquares( highlighted );
+    }
+    /**
+     * Forgets the selected square and the legal move squares, without
+     * repainting.
+     */
+    private void clearHighlights(){
+        selectedSquare = -1;
+        moveSquares = 0L;
+        captureSquares = 0L;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Shows the legal move locations for a GamePiece, once the rule thread
+     * of the panel has found them. The piece may be one of the copy shown;
+     * the moves are those of the piece on its square.
+     *
+     * @param piece
+     *            the piece to show the move locations of
+     */
+    public void showLegalMoves( ChessGamePiece piece ){
+        int row = piece.getRow();
+        int col = piece.getColumn();
+        getPanel().runOnEngine( engine -> {
+            ChessGamePiece onSquare =
+                engine.getPosition().getPieceAt( row, col );
+            return onSquare == null
+                ? new long[2]
+                : getLegalSquares( onSquare, engine.getPosition() );
+        }, legalSquares -> {
+            moveSquares = legalSquares[0];
+            captureSquares = legalSquares[1];
+            repaintSquares( moveSquares | captureSquares );
+        } );
+    }
+    /**
+     * Finds the squares a piece can legally move to, on the thread the
+     * position belongs to.
+     *
+     * @param piece
+     *            the piece
+     * @param board
+     *            the position the piece is on
+     * @return long[] a mask of the empty squares, then a mask of the squares
+     *         of enemy pieces
+     */
+    private static long[] getLegalSquares( ChessGamePiece piece,
+        ChessPosition board ){
+        long[] legalSquares = new long[2];
+        MoveList legalMoves = piece.getLegalMoves( board );
+        for ( int i = 0; i < legalMoves.size(); i++ ){
+            int row = Move.getToRow( legalMoves.get( i ) );
+            int col = Move.getToColumn( legalMoves.get( i ) );
+            legalSquares[piece.isEnemy( board, row, col ) ? 1 : 0] |=
+                1L << ChessPosition.square( row, col );
+        }
+        return legalSquares;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the width and height of a square, which fits all 8 squares of a
+     * row and of a column in the component.
+     *
+     * @return int the size in pixels, at least 1
+     */
+    private int getSquareSize(){
+        int side = Math.min( getWidth(), getHeight() );
+        return Math.max( 1, ( side - 7 * GAP ) / 8 );
+    }
+    /**
+     * Gets the area of the component a square is painted in. The board is
+     * centered in the component.
+     *
+     * @param row
+     *            the row of the square
+     * @param col
+     *            the column of the square
+     * @return Rectangle the area
+     */
+    private Rectangle getSquareBounds( int row, int col ){
+        int size = getSquareSize();
+        int boardSize = 8 * size + 7 * GAP;
+        int left = ( getWidth() - boardSize ) / 2;
+        int top = ( getHeight() - boardSize ) / 2;
+        return new Rectangle( left + col * ( size + GAP ),
+            top + row * ( size + GAP ), size, size );
+    }
+    /**
+     * Gets the square at a point of the component.
+     *
+     * @param x
+     *            the x coordinate of the point
+     * @param y
+     *            the y coordinate of the point
+     * @return int the square index, or -1 if the point is off the board or
+     *         on the gap between squares
+     */
+    private int getSquareAt( int x, int y ){
+        Rectangle corner = getSquareBounds( 0, 0 );
+        int step = corner.width + GAP;
+        int col = Math.floorDiv( x - corner.x, step );
+        int row = Math.floorDiv( y - corner.y, step );
+        if ( !ChessPosition.isOnBoard( row, col )
+            || !getSquareBounds( row, col ).contains( x, y ) ){
+            return -1;
+        }
+        return ChessPosition.square( row, col );
+    }
+    /**
+     * Repaints one square, and nothing else, once Swing gets to it.
+     *
+     * @param row
+     *            the row of the square
+     * @param col
+     *            the column of the square
+     */
+    private void repaintSquare( int row, int col ){
+        repaint( getSquareBounds( row, col ) );
+    }
+    /**
+     * Repaints a set of squares.
+     *
+     * @param squares
+     *            a mask with a bit set for each square to repaint
+     */
+    private void repaintSquares( long squares ){
+        for ( long left = squares; left != 0; left &= left - 1 ){
+            int sq = Long.numberOfTrailingZeros( left );
+            repaintSquare( sq >> 3, sq & 7 );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Paints the squares that are in the area being repainted, with their
+     * highlight and piece.
+     *
+     * @param g
+     *            the graphics to paint with
+     */
+    @Override
+    protected void paintComponent( Graphics g ){
+        Rectangle clip = g.getClipBounds();
+        if ( clip == null ){
+            clip = new Rectangle( 0, 0, getWidth(), getHeight() );
+        }
+        g.setColor( getBackground() );
+        g.fillRect( clip.x, clip.y, clip.width, clip.height );
+        int size = getSquareSize();
+        for ( int row = 0; row < 8; row++ ){
+            for ( int col = 0; col < 8; col++ ){
+                Rectangle bounds = getSquareBounds( row, col );
+                if ( bounds.intersects( clip ) ){
+                    paintSquare( g, row, col, bounds, size );
+                }
+            }
+        }
+    }
+    /**
+     * Paints one square, with its highlight and piece.
+     *
+     * @param g
+     *            the graphics to paint with
+     * @param row
+     *            the row of the square
+     * @param col
+     *            the column of the square
+     * @param bounds
+     *            the area of the square
+     * @param size
+     *            the size of the square
+     */
+    private void paintSquare( Graphics g, int row, int col, Rectangle bounds,
+        int size ){
+        int sq = ChessPosition.square( row, col );
+        long bit = 1L << sq;
+        if ( sq == selectedSquare ){
+            g.setColor( SELECTED_SQUARE );
+        }
+        else if ( ( captureSquares & bit ) != 0 ){
+            g.setColor( CAPTURE_SQUARE );
+        }
+        else if ( ( moveSquares & bit ) != 0 ){
+            g.setColor( MOVE_SQUARE );
+        }
+        else
+        {
+            g.setColor( ( row + col ) % 2 == 0 ? LIGHT_SQUARE : DARK_SQUARE );
+        }
+        g.fillRect( bounds.x, bounds.y, bounds.width, bounds.height );
+        ChessGamePiece piece = shown.getPieceAt( row, col );
+        if ( showPieces && piece != null ){
+            ChessPieceIcons.getIcon( piece, size )
+                .paintIcon( this, g, bounds.x, bounds.y );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Given a MouseEvent from a user clicking on a square, the appropriate
+     * action is determined. Actions include: moving a piece, showing the possi
+     * ble moves of a piece, or ending the game after checking game conditions.
+     * The rules are worked out on the rule thread of the panel, and the board
+     * ignores clicks until it has the answer.
+     *
+     * @param e
+     *            the mouse event from the listener
+     */
+    public void determineActionFromSquareClick( MouseEvent e ){
+        int square = getSquareAt( e.getX(), e.getY() );
+        if ( square < 0 || busy ){
+            return;
+        }
+        int row = square >> 3;
+        int col = square & 7;
+        int from = selectedSquare;
+        ChessPanel panel = getPanel();
+        clearColorsOnBoard();
+        if (firstClick) {
+            setBusy( true );
+            panel.runOnEngine( engine -> {
+                ChessGamePiece piece =
+                    engine.getPosition().getPieceAt( row, col );
+                return engine.selectedPieceIsValid( piece )
+                    ? getLegalSquares( piece, engine.getPosition() )
+                    : null;
+            }, legalSquares -> {
+                setBusy( false );
+                if ( legalSquares != null ){
+                    moveSquares = legalSquares[0];
+                    captureSquares = legalSquares[1];
+                    selectedSquare = square;
+                    repaintSquares(
+                        moveSquares | captureSquares | 1L << square );
+                    firstClick = false;
+                } else {
+                    String message = "You tried to ";
+                    message += shown.getPieceAt( row, col ) != null ? "pick up the other player's piece! " : "pick up an empty square! ";
+                    message += "Get some glasses and pick a valid square.";
+                    JOptionPane.showMessageDialog(this, message, "Illegal move", JOptionPane.ERROR_MESSAGE);
+                }
+            }, failure -> setBusy( false ) );
+        } else {
+            firstClick = true;
+            if ( square != from ) { // moving
+                setBusy( true );
+                panel.runOnEngine( engine -> engine.movePiece(
+                    engine.getPosition().getPieceAt( from >> 3, from & 7 ),
+                    row, col ), moveSuccessful -> {
+                    setBusy( false );
+                    if (!moveSuccessful) {
+                        JOptionPane.showMessageDialog(
+                            this,
+                            "The move to row " + (row + 1) + " and column "
+                                + (col + 1)
+                                + " is either not valid or not legal "
+                                + "for this piece. Choose another move "
+                                + "location, and try using your brain this "
+                                + "time!",
+                            "Invalid move",
+                            JOptionPane.ERROR_MESSAGE);
+                    }
+                }, failure -> setBusy( false ) );
+            }
+        }
+    }
+    /**
+     * Marks the board as waiting for the rule thread, which shows the wait
+     * cursor and makes it ignore clicks.
+     *
+     * @param waiting
+     *            true while waiting
+     */
+    private void setBusy( boolean waiting ){
+        busy = waiting;
+        setCursor( waiting
+            ? Cursor.getPredefinedCursor( Cursor.WAIT_CURSOR )
+            : null );
+    }
+    /**
+     * Listens for clicks on the board.
+     *
+     * @author Ben Katz (bakatz)
+     * @author Danielle Bushrow (dbushrow)
+     * @author Myles David (davidmm2)
+     * @version 2010.11.16
+     */
+    private class BoardListener
+        implements MouseListener, Serializable
+    {
+        /**
+         * Do an action when the left mouse button is clicked.
+         *
+         * @param e
+         *            the event from the listener
+         */
+        public void mouseClicked( MouseEvent e ){
+            if ( e.getButton() == MouseEvent.BUTTON1 && showPieces &&
+                getParent() instanceof ChessPanel ){
+                determineActionFromSquareClick( e );
+            }
+        }
+        /**
+         * Unused method.
+         *
+         * @param e
+         *            the mouse event from the listener
+         */
+        public void mouseEntered( MouseEvent e ){ /* not used */
+        }
+        /**
+         * Unused method.
+         *
+         * @param e
+         *            the mouse event from the listener
+         */
+        public void mouseExited( MouseEvent e ){ /* not used */
+        }
+        /**
+         * Unused method.
+         *
+         * @param e
+         *            the mouse event from the listener
+         */
+        public void mousePressed( MouseEvent e ){ /* not used */
+        }
+        /**
+         * Unused method.
+         *
+         * @param e
+         *            the mouse event from the listener
+         */
+        public void mouseReleased( MouseEvent e ){ /* not used */
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.game.chess;
+
+import javax.swing.JTextArea;
+import javax.swing.JScrollPane;
+import javax.swing.ScrollPaneConstants;
+import javax.swing.text.BadLocationException;
+import org.game.chess.enums.LogEventEnum;
+// -------------------------------------------------------------------------
+/**
+ * A scrollable textArea representing the game log. (i.e. moves made by each
+ * player)
+ * <p>
+ * The entries are kept in a game.GameLogBuffer of fixed capacity, and every
+ * entry is appended to the end of the text area, so adding one takes the
+ * same time however long the game runs. Once the log is full the oldest
+ * lines are cut from the view in chunks. Entries can also be sent to a
+ * game.GameLogWriter, which writes them to disk on its own thread.
+ * 
+ * @author Ben Katz (bakatz)
+ * @author Myles David II (davidmm2)
+ * @author Danielle Bushrow (dbushrow)
+ * @version 2010.11.17
+ */
+public class ChessGameLog
+    extends JScrollPane{
+    private static final int DEFAULT_CAPACITY = 1000;
+
+    private JTextArea               textArea;
+    private GameLogBuffer           entries;
+    private int                     ply;
+    private transient GameLogWriter fileWriter;
+    // ----------------------------------------------------------
+    /**
+     * Create a new game.ChessGameLog object.
+     */
+    public ChessGameLog(){
+        this( DEFAULT_CAPACITY );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Create a new game.ChessGameLog object that keeps a limited number of
+     * entries.
+     *
+     * @param capacity
+     *            the number of entries to keep, at least 1
+     */
+    public ChessGameLog( int capacity ){
+        super(
+            new JTextArea( "", 5, 30 ),
+            ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS,
+            ScrollPaneConstants.HORIZONTAL_SCROLLBAR_ALWAYS );
+        textArea = ( (JTextArea)this.getViewport().getView() );
+        entries = new GameLogBuffer( capacity );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds a new line of text to the log.
+     * 
+     * @param s
+     *            the line of text to add
+     */
+    public void addToLog( String s ){
+        addToLog( LogEventEnum.MESSAGE, ply, Move.NONE, s );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Adds a new entry to the log.
+     *
+     * @param type
+     *            the kind of event
+     * @param entryPly
+     *            the number of moves played in the game so far
+     * @param move
+     *            the packed move (see game.Move) for a MOVE entry, else
+     *            game.Move.NONE
+     * @param s
+     *            the line of text to add
+     */
+    public void addToLog( LogEventEnum type, int entryPly, int move,
+        String s ){
+        GameLogEntry entry = new GameLogEntry( System.currentTimeMillis(),
+            entryPly, move, type, s );
+        ply = entryPly;
+        entries.add( entry );
+        if ( textArea.getDocument().getLength() > 0 ){
+            textArea.append( "\n" + entry );
+        }
+        else
+        {
+            textArea.append( entry.toString() );
+        }
+        trimView();
+        if ( fileWriter != null ){
+            fileWriter.write( entry );
+        }
+    }
+    /**
+     * Cuts the oldest lines from the text area once it shows a quarter more
+     * lines than the log keeps, so the cost of cutting is spread over many
+     * entries.
+     */
+    private void trimView(){
+        int capacity = entries.getCapacity();
+        int excess = textArea.getLineCount() - capacity;
+        if ( excess <= capacity / 4 ){
+            return;
+        }
+        try {
+            textArea.replaceRange( "", 0,
+                textArea.getLineStartOffset( excess ) );
+        }
+        catch ( BadLocationException e ){
+            throw new IllegalStateException( "The game log has fewer than "
+                + excess + " lines.", e );
+        }
+    }
+    /**
+     * Clears the log.
+     */
+    public void clearLog(){
+        entries.clear();
+        ply = 0;
+        textArea.setText( "" );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the most recent statement added to the log.
+     * 
+     * @return String the most recent log statement
+     */
+    public String getLastLog(){
+        GameLogEntry last = entries.getLast();
+        return last == null ? "" : last.toString();
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the entries the log keeps, oldest first.
+     *
+     * @return game.GameLogBuffer the entries, not to be changed
+     */
+    public GameLogBuffer getEntries(){
+        return entries;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Sends every entry added from now on to a writer as well. Clearing the
+     * log does not clear what was written.
+     *
+     * @param writer
+     *            the writer, or null to stop writing entries
+     */
+    public void setFileWriter( GameLogWriter writer ){
+        this.fileWriter = writer;
+    }
+}
@@ -36,7 +36,7 @@ public class ChessGraveyard
     public void addPiece( ChessGamePiece piece ){
         piece.setPieceLocation( -1, -1 );
         JLabel pieceLabel = new JLabel();
-        pieceLabel.setIcon( piece.getImage() );
+        pieceLabel.setIcon( ChessPieceIcons.getIcon( piece ) );
         this.add( pieceLabel );
     }
     // ----------------------------------------------------------
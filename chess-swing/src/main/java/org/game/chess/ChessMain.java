@@ -0,0 +1,68 @@
+package org.game.chess;
+
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Paths;
+import javax.swing.*;
+// -------------------------------------------------------------------------
+/**
+ * Shows the GUI for the Chess game.
+ * 
+ * @author Ben Katz (bakatz)
+ * @author Myles David II (davidmm2)
+ * @author Danielle Bushrow (dbushrow)
+ * @version 2010.11.17
+ */
+public class ChessMain{
+    private static final long LOG_FILE_BYTES = 1L << 20;
+    private static final int  LOG_FILES      = 5;
+    // ----------------------------------------------------------
+    /**
+     * Creates the GUI for Chess.
+     * 
+     * @param args
+     *            command line arguments: optionally a file to write the game
+     *            log to, rotated every MB
+     */
+    public static void main( String[] args ){
+        JFrame frame = new JFrame( "YetAnotherChessGame 1.0" );
+        frame.setDefaultCloseOperation( WindowConstants.EXIT_ON_CLOSE );
+        ChessPanel panel = new ChessPanel();
+        if ( args.length > 0 ){
+            GameLogWriter writer = new GameLogWriter( Paths.get( args[0] ),
+                LOG_FILE_BYTES, LOG_FILES );
+            panel.getGameLog().setFileWriter( writer );
+            // the close box exits after windowClosing, while File > Exit
+            // disposes the frame, which only fires windowClosed
+            frame.addWindowListener( new WindowAdapter(){
+                @Override
+                public void windowClosing( WindowEvent e ){
+                    closeLog();
+                }
+                @Override
+                public void windowClosed( WindowEvent e ){
+                    closeLog();
+                }
+                /**
+                 * Stops sending entries to the writer, so none arrive after
+                 * it is closed, then writes the entries still queued and
+                 * closes it. Does nothing the second time.
+                 */
+                private void closeLog(){
+                    panel.getGameLog().setFileWriter( null );
+                    try {
+                        writer.close();
+                    }
+                    catch ( IOException ex ){
+                        System.err.println( "The game log could not be "
+                            + "written: " + ex.getMessage() );
+                    }
+                }
+            } );
+        }
+        frame.getContentPane().add( panel );
+        frame.pack();
+        frame.setVisible( true );
+    }
+}
@@ -2,6 +2,7 @@ package org.game.chess;
 
 import java.awt.Component;
 import java.awt.event.*;
+import java.io.IOException;
 import javax.swing.*;
 // -------------------------------------------------------------------------
 /**
@@ -21,7 +22,9 @@ public class ChessMenuBar
     public ChessMenuBar(){
         String[] menuCategories = { "File", "Options", "Help" };
         String[] menuItemLists =
-        { "New game/restart,Exit", "Toggle graveyard,Toggle game log",
+        { "New game/restart,Set up position (FEN),Save game as PGN,"
+            + "Add game to archive,Exit",
+          "Toggle graveyard,Toggle game log",
           "About" };
         for ( int i = 0; i < menuCategories.length; i++ ){
             JMenu currMenu = new JMenu( menuCategories[i] );
@@ -60,6 +63,15 @@ public class ChessMenuBar
             else if ( buttonName.equals( "New game/restart" ) ){
                 restartHandler();
             }
+            else if ( buttonName.equals( "Set up position (FEN)" ) ){
+                setUpPositionHandler();
+            }
+            else if ( buttonName.equals( "Save game as PGN" ) ){
+                savePgnHandler();
+            }
+            else if ( buttonName.equals( "Add game to archive" ) ){
+                archiveHandler();
+            }
             else if ( buttonName.equals( "Toggle game log" ) ){
                 toggleGameLogHandler();
             }
@@ -86,7 +98,97 @@ public class ChessMenuBar
      * Takes an appropriate action if the restart button is clicked.
      */
     private void restartHandler(){
-        ( (ChessPanel)this.getParent() ).getGameEngine().reset();
+        ( (ChessPanel)this.getParent() ).runOnEngine( engine -> {
+            engine.reset();
+            return null;
+        }, null );
+    }
+    /**
+     * Takes an appropriate action if the set up position button is clicked.
+     * The current position is shown in FEN, to be copied or replaced by the
+     * position to start a new game from.
+     */
+    private void setUpPositionHandler(){
+        ChessPanel panel = (ChessPanel)this.getParent();
+        panel.runOnEngine( ChessGameEngine::getFen, currentFen -> {
+            Object fen = JOptionPane.showInputDialog( panel,
+                "Position in FEN:", "Set up position",
+                JOptionPane.PLAIN_MESSAGE, null, null, currentFen );
+            if ( fen == null || fen.equals( currentFen ) ){
+                return;
+            }
+            panel.runOnEngine( engine -> {
+                try {
+                    engine.loadPosition( fen.toString() );
+                    return null;
+                }
+                catch ( IllegalArgumentException e ){
+                    return e.getMessage();
+                }
+            }, error -> {
+                if ( error != null ){
+                    JOptionPane.showMessageDialog( panel, error, "Error",
+                        JOptionPane.ERROR_MESSAGE );
+                }
+            } );
+        } );
+    }
+    /**
+     * Takes an appropriate action if the save game button is clicked. The
+     * game is added to the end of the chosen file, so one file can collect
+     * many games.
+     */
+    private void savePgnHandler(){
+        JFileChooser chooser = new JFileChooser();
+        if ( chooser.showSaveDialog( this.getParent() )
+            != JFileChooser.APPROVE_OPTION ){
+            return;
+        }
+        ChessPanel panel = (ChessPanel)this.getParent();
+        panel.runOnEngine( engine -> {
+            try ( PgnWriter writer =
+                PgnWriter.append( chooser.getSelectedFile().toPath() ) ){
+                writer.writeGame( engine.getGameRecord() );
+                return null;
+            }
+            catch ( IOException e ){
+                return e.getMessage();
+            }
+        }, error -> {
+            if ( error != null ){
+                JOptionPane.showMessageDialog( panel, "The game could not "
+                    + "be saved: " + error, "Error",
+                    JOptionPane.ERROR_MESSAGE );
+            }
+        } );
+    }
+    /**
+     * Takes an appropriate action if the add to archive button is clicked.
+     * The game is added after the games already in the chosen archive.
+     */
+    private void archiveHandler(){
+        JFileChooser chooser = new JFileChooser();
+        if ( chooser.showSaveDialog( this.getParent() )
+            != JFileChooser.APPROVE_OPTION ){
+            return;
+        }
+        ChessPanel panel = (ChessPanel)this.getParent();
+        panel.runOnEngine( engine -> {
+            try ( GameArchiveWriter writer =
+                new GameArchiveWriter( chooser.getSelectedFile().toPath() ) ){
+                writer.writeGame( engine.getGameRecord() );
+                return null;
+            }
+            catch ( IOException e ){
+                return e.getMessage();
+            }
+        }, error -> {
+            if ( error != null ){
+                JOptionPane.showMessageDialog( panel, "The game could not "
+                    + "be archived: " + error, "Error",
+                    JOptionPane.ERROR_MESSAGE );
+            }
+        } );
     }
     /**
      * Takes an appropriate action if the exit button is clicked.
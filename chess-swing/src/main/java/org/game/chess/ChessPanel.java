@@ -0,0 +1,308 @@
+package org.game.chess;
+
+import java.awt.*;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.swing.*;
+import org.game.chess.enums.LogEventEnum;
+// -------------------------------------------------------------------------
+/**
+ * The main panel of the Chess game.
+ * <p>
+ * The game engine and its position are only used on a background rule
+ * thread, so finding legal moves and checking for the end of the game never
+ * hold up the Event Dispatch Thread. After each piece of work the rule
+ * thread hands the Event Dispatch Thread a copy of the position for the
+ * board to show, together with the events of the engine.
+ * 
+ * @author Ben Katz (bakatz)
+ * @author Myles David II (davidmm2)
+ * @author Danielle Bushrow (dbushrow)
+ * @version 2010.11.17
+ */
+public class ChessPanel
+    extends JPanel{
+    private ChessMenuBar    menuBar;
+    private ChessGameBoard  gameBoard;
+    private ChessGameLog    gameLog;
+    private ChessGraveyard  playerOneGraveyard;
+    private ChessGraveyard  playerTwoGraveyard;
+    private ChessGameEngine gameEngine;
+    private RuleExecutor    rules;
+    // the batches of events of the engine, made on the rule thread and shown
+    // together with the position they lead to
+    private List<Runnable>  engineEvents;
+    // ----------------------------------------------------------
+    /**
+     * Create a new game.ChessPanel object.
+     */
+    public ChessPanel(){
+        this.setLayout( new BorderLayout() );
+        menuBar = new ChessMenuBar();
+        gameBoard = new ChessGameBoard();
+        gameLog = new ChessGameLog();
+        playerOneGraveyard = new ChessGraveyard( "Player 1's graveyard" );
+        playerTwoGraveyard = new ChessGraveyard( "Player 2's graveyard" );
+        this.add( menuBar, BorderLayout.NORTH );
+        this.add( gameBoard, BorderLayout.CENTER );
+        this.add( gameLog, BorderLayout.SOUTH );
+        this.add( playerOneGraveyard, BorderLayout.WEST );
+        this.add( playerTwoGraveyard, BorderLayout.EAST );
+        this.setPreferredSize( new Dimension( 800, 600 ) );
+        rules = new RuleExecutor( EventQueue::invokeLater );
+        engineEvents = new ArrayList<>();
+        gameEngine = new ChessGameEngine(
+            gameBoard.getPosition(),
+            new PanelGameListener(),
+            engineEvents::add ); // start the game
+        runOnEngine( engine -> null, null ); // and show it
+    }
+    // ----------------------------------------------------------
+    /**
+     * Queues work on the game engine, such as playing a move, on the rule
+     * thread. Work is done in the order it is queued. When it is done, the
+     * board shows the position it led to, the events of the engine are
+     * shown, and the result is handed to the handler, all on the Event
+     * Dispatch Thread. Work must not show dialogs; the handler may.
+     *
+     * @param <T>
+     *            the type of the result
+     * @param work
+     *            the work, given the engine
+     * @param onResult
+     *            the handler of the result, or null if there is none
+     */
+    public <T> void runOnEngine( Function<ChessGameEngine, T> work,
+        Consumer<? super T> onResult ){
+        runOnEngine( work, onResult, null );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Queues work on the game engine, as runOnEngine above. If the work
+     * fails, the events it caused are dropped, the failure is handed to the
+     * failure handler and then shown to the user, on the Event Dispatch
+     * Thread.
+     *
+     * @param <T>
+     *            the type of the result
+     * @param work
+     *            the work, given the engine
+     * @param onResult
+     *            the handler of the result, or null if there is none
+     * @param onFailure
+     *            the handler of a failure, i.e. to undo what was done while
+     *            waiting for the result, or null if there is none
+     */
+    public <T> void runOnEngine( Function<ChessGameEngine, T> work,
+        Consumer<? super T> onResult,
+        Consumer<? super Throwable> onFailure ){
+        rules.submit( () -> {
+            T result;
+            ChessPosition shown;
+            try {
+                result = work.apply( gameEngine );
+                shown = gameBoard.getPosition().copy();
+            }
+            catch ( RuntimeException | Error e ){
+                engineEvents.clear();
+                throw e;
+            }
+            List<Runnable> events = new ArrayList<>( engineEvents );
+            engineEvents.clear();
+            return (Runnable)() -> {
+                gameBoard.showPosition( shown );
+                for ( Runnable event : events ){
+                    event.run();
+                }
+                if ( onResult != null ){
+                    onResult.accept( result );
+                }
+            };
+        }, Runnable::run, failure -> {
+            if ( onFailure != null ){
+                onFailure.accept( failure );
+            }
+            JOptionPane.showMessageDialog( this, "The game could not go on: "
+                + failure, "Error", JOptionPane.ERROR_MESSAGE );
+        } );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the logger object for use in other classes.
+     * 
+     * @return game.ChessGameLog the game.ChessGameLog object
+     */
+    public ChessGameLog getGameLog(){
+        return gameLog;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the board object for use in other classes.
+     * 
+     * @return game.ChessGameBoard the game.ChessGameBoard object
+     */
+    public ChessGameBoard getGameBoard(){
+        return gameBoard;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the game engine object for use in other classes. It belongs to
+     * the rule thread, so use it through runOnEngine.
+     * 
+     * @return game.ChessGameEngine the game.ChessGameEngine object
+     */
+    public ChessGameEngine getGameEngine(){
+        return gameEngine;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the appropriate graveyard object for use in other classes.
+     * 
+     * @param whichPlayer
+     *            the number of the player (1 or 2)
+     * @return game.ChessGraveyard the graveyard requested
+     */
+    public ChessGraveyard getGraveyard( int whichPlayer ){
+        if ( whichPlayer == 1 ){
+            return playerOneGraveyard;
+        }
+        else if ( whichPlayer == 2 ){
+            return playerTwoGraveyard;
+        }
+        else
+        {
+            return null;
+        }
+    }
+    /**
+     * Shows the events of the game engine on the board, graveyards and log
+     * of this panel. The events of a move arrive together, on the Event
+     * Dispatch Thread, after the board shows the position after the move.
+     */
+    private class PanelGameListener
+        implements ChessGameListener, Serializable
+    {
+        // the ply of the last move shown, which the engine may be past
+        private int ply;
+        /**
+         * Redraws the board and clears the graveyards and the log.
+         */
+        @Override
+        public void gameStarted(){
+            ply = 0;
+            playerOneGraveyard.clearGraveyard();
+            playerTwoGraveyard.clearGraveyard();
+            gameBoard.refreshBoard();
+            gameLog.clearLog();
+            revalidate();
+        }
+        /**
+         * Adds a line to the game log.
+         *
+         * @param message
+         *            the line of text to add
+         */
+        @Override
+        public void logMessage( String message ){
+            gameLog.addToLog( message );
+        }
+        /**
+         * Adds the line for a move to the game log.
+         *
+         * @param move
+         *            the packed move
+         * @param ply
+         *            the number of moves played, this one included
+         * @param description
+         *            the line of text to add
+         */
+        @Override
+        public void logMove( int move, int ply, String description ){
+            this.ply = ply;
+            gameLog.addToLog( LogEventEnum.MOVE, ply, move, description );
+        }
+        /**
+         * Does nothing, as the board has already repainted the squares the
+         * move changed when it was shown the position after it.
+         *
+         * @param piece
+         *            the piece that moved
+         * @param fromRow
+         *            the row it moved from
+         * @param fromCol
+         *            the column it moved from
+         * @param toRow
+         *            the row it moved to
+         * @param toCol
+         *            the column it moved to
+         */
+        @Override
+        public void pieceMoved(
+            ChessGamePiece piece,
+            int fromRow,
+            int fromCol,
+            int toRow,
+            int toCol ){
+            // the board shows the position, see runOnEngine
+        }
+        /**
+         * Puts a captured piece in the graveyard of the player who lost it.
+         *
+         * @param piece
+         *            the captured piece
+         * @param capturingPlayer
+         *            the player who captured it (1 or 2)
+         */
+        @Override
+        public void pieceCaptured( ChessGamePiece piece, int capturingPlayer ){
+            getGraveyard( capturingPlayer == 1 ? 2 : 1 ).addPiece( piece );
+        }
+        /**
+         * Warns the player that their king is in check.
+         *
+         * @param player
+         *            the player whose king is in check (1 or 2)
+         */
+        @Override
+        public void kingInCheck( int player ){
+            gameLog.addToLog( LogEventEnum.CHECK, ply,
+                Move.NONE, "Player " + player + "'s king is in check." );
+            JOptionPane.showMessageDialog(
+                ChessPanel.this,
+                "Be careful player " + player + ", " +
+                "your king is in check! Your next move must get " +
+                "him out of check or you're screwed.",
+                "Warning",
+                JOptionPane.WARNING_MESSAGE );
+        }
+        /**
+         * Asks the user if they want to play again - if they don't, the game
+         * exits.
+         *
+         * @param endGameStr
+         *            the string to display to the user (i.e. stalemate,
+         *            checkmate, etc)
+         */
+        @Override
+        public void gameOver( String endGameStr ){
+            gameLog.addToLog( LogEventEnum.GAME_OVER, ply,
+                Move.NONE, endGameStr );
+            int resp =
+                JOptionPane.showConfirmDialog( ChessPanel.this, endGameStr
+                    + " Do you want to play again?" );
+            if ( resp == JOptionPane.YES_OPTION ){
+                runOnEngine( engine -> {
+                    engine.reset();
+                    return null;
+                }, null );
+            }
+            else
+            {
+                gameBoard.resetBoard( false );
+            }
+        }
+    }
+}
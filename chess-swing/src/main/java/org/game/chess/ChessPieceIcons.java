@@ -0,0 +1,223 @@
+package org.game.chess;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import org.game.chess.enums.PieceColorEnum;
+import org.game.chess.enums.PieceTypeEnum;
+// -------------------------------------------------------------------------
+/**
+ * The images used to draw game pieces on the board and in the graveyards.
+ * The pieces themselves know nothing about how they are shown.
+ * <p>
+ * Each image is read and decoded once, when this class is first used, and
+ * the same icon is handed out for every piece of that type and color. Icons
+ * scaled to a square size are made on first request and kept for the last
+ * MAX_SIZES sizes asked for. The icons are shared, so they are returned as
+ * read-only Icons.
+ */
+public final class ChessPieceIcons {
+    /**
+     * The number of square sizes scaled icons are kept for.
+     */
+    public static final int MAX_SIZES = 8;
+
+    private static final PieceTypeEnum[] TYPES       = PieceTypeEnum.values();
+    // white pieces, then black pieces, then the piece of no color
+    private static final int             ICON_COUNT  = TYPES.length * 2 + 1;
+    private static final BufferedImage[] IMAGES      = loadImages();
+    private static final Icon[]          ICONS       = toIcons( IMAGES );
+    private static final Map<Integer, Icon[]> SCALED =
+        new LinkedHashMap<Integer, Icon[]>( 16, 0.75f, true ){
+            @Override
+            protected boolean removeEldestEntry(
+                Map.Entry<Integer, Icon[]> eldest ){
+                return size() > MAX_SIZES;
+            }
+        };
+    // ----------------------------------------------------------
+    /**
+     * Not meant to be instantiated.
+     */
+    private ChessPieceIcons(){
+        // utility class
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the icon for a piece depending on the piece's type and color.
+     *
+     * @param piece
+     *            the piece to get the icon for
+     * @return Icon the shared icon of pieces of that type and color
+     */
+    public static Icon getIcon( ChessGamePiece piece ){
+        return ICONS[index( piece.getPieceType(), piece.getColorOfPiece() )];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the icon for a piece, scaled to fit a square.
+     *
+     * @param piece
+     *            the piece to get the icon for
+     * @param size
+     *            the width and height of the square, in pixels
+     * @return Icon the shared icon of pieces of that type and color at that
+     *         size
+     */
+    public static Icon getIcon( ChessGamePiece piece, int size ){
+        return getIcon( piece.getPieceType(), piece.getColorOfPiece(), size );
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the icon for a piece type and color, scaled to fit a square. The
+     * icons of all pieces are scaled together the first time a size is asked
+     * for.
+     *
+     * @param type
+     *            the piece type
+     * @param color
+     *            the piece color
+     * @param size
+     *            the width and height of the square, in pixels
+     * @return Icon the shared icon at that size
+     */
+    public static Icon getIcon( PieceTypeEnum type, PieceColorEnum color,
+        int size ){
+        if ( size < 1 ){
+            throw new IllegalArgumentException( "An icon cannot be " + size
+                + " pixels wide." );
+        }
+        Icon[] icons;
+        synchronized ( SCALED ){
+            icons = SCALED.get( size );
+            if ( icons == null ){
+                BufferedImage[] scaled = new BufferedImage[ICON_COUNT];
+                for ( int i = 0; i < ICON_COUNT; i++ ){
+                    scaled[i] = scale( IMAGES[i], size );
+                }
+                icons = toIcons( scaled );
+                SCALED.put( size, icons );
+            }
+        }
+        return icons[index( type, color )];
+    }
+    // ----------------------------------------------------------
+    /**
+     * Gets the place of the icon of a piece type and color in the arrays.
+     *
+     * @param type
+     *            the piece type
+     * @param color
+     *            the piece color
+     * @return int the index
+     */
+    private static int index( PieceTypeEnum type, PieceColorEnum color ){
+        if ( color == PieceColorEnum.WHITE ){
+            return type.ordinal();
+        }
+        else if ( color == PieceColorEnum.BLACK ){
+            return TYPES.length + type.ordinal();
+        }
+        else
+        {
+            return ICON_COUNT - 1;
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Reads and decodes the image of every piece type and color.
+     *
+     * @return BufferedImage[] the images, in index order
+     */
+    private static BufferedImage[] loadImages(){
+        BufferedImage[] images = new BufferedImage[ICON_COUNT];
+        for ( PieceTypeEnum type : TYPES ){
+            String name = type.name().charAt( 0 )
+                + type.name().substring( 1 ).toLowerCase();
+            images[index( type, PieceColorEnum.WHITE )] =
+                loadImage( "/chessImages/White" + name + ".gif" );
+            images[index( type, PieceColorEnum.BLACK )] =
+                loadImage( "/chessImages/Black" + name + ".gif" );
+        }
+        images[ICON_COUNT - 1] =
+            loadImage( "/chessImages/default-Unassigned.gif" );
+        return images;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Reads and decodes one image.
+     *
+     * @param resource
+     *            the name of the image resource
+     * @return BufferedImage the image
+     */
+    private static BufferedImage loadImage( String resource ){
+        URL url = ChessPieceIcons.class.getResource( resource );
+        try {
+            BufferedImage image = url == null ? null : ImageIO.read( url );
+            if ( image == null ){
+                throw new IllegalStateException( "The piece image "
+                    + resource + " is missing." );
+            }
+            return image;
+        }
+        catch ( IOException e ){
+            throw new IllegalStateException( "The piece image " + resource
+                + " cannot be read.", e );
+        }
+    }
+    // ----------------------------------------------------------
+    /**
+     * Scales an image to fit a square, keeping its proportions and centering
+     * it.
+     *
+     * @param image
+     *            the image
+     * @param size
+     *            the width and height of the square
+     * @return BufferedImage the scaled image
+     */
+    private static BufferedImage scale( BufferedImage image, int size ){
+        double ratio = Math.min( (double)size / image.getWidth(),
+            (double)size / image.getHeight() );
+        int width = Math.max( 1, (int)Math.round( image.getWidth() * ratio ) );
+        int height =
+            Math.max( 1, (int)Math.round( image.getHeight() * ratio ) );
+        BufferedImage scaled =
+            new BufferedImage( size, size, BufferedImage.TYPE_INT_ARGB );
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint( RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_BICUBIC );
+            g.drawImage( image, ( size - width ) / 2, ( size - height ) / 2,
+                width, height, null );
+        }
+        finally
+        {
+            g.dispose();
+        }
+        return scaled;
+    }
+    // ----------------------------------------------------------
+    /**
+     * Wraps images in icons.
+     *
+     * @param images
+     *            the images
+     * @return Icon[] an icon for each image
+     */
+    private static Icon[] toIcons( BufferedImage[] images ){
+        Icon[] icons = new Icon[images.length];
+        for ( int i = 0; i < images.length; i++ ){
+            icons[i] = new ImageIcon( images[i] );
+        }
+        return icons;
+    }
+}